@@ -19,6 +19,8 @@ dependencies {
     testImplementation("org.mockito:mockito-core:5.14.2")
     testImplementation("io.papermc.paper:paper-api:1.21.4-R0.1-SNAPSHOT")
     testImplementation("com.sk89q.worldedit:worldedit-bukkit:7.2.19")
+    testImplementation("com.sk89q.worldguard:worldguard-bukkit:7.0.9")
+    testImplementation("org.xerial:sqlite-jdbc:3.47.1.0")
     compileOnly("net.milkbowl.vault:VaultUnlockedAPI:2.10")
     compileOnly("io.papermc.paper:paper-api:1.21.4-R0.1-SNAPSHOT")
     compileOnly("com.onarandombox.multiversecore:Multiverse-Core:4.3.1")
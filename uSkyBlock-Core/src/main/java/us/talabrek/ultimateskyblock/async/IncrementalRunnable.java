@@ -33,6 +33,9 @@ import static java.lang.Math.max;
  * </pre>
  */
 public abstract class IncrementalRunnable extends BukkitRunnable {
+    private static final int RUNNING = 0;
+    private static final int SUSPENDING = 1;
+    private static final int SUSPENDED = 2;
 
     private final Scheduler scheduler;
     private Runnable onCompletion;
@@ -62,6 +65,11 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
 
     private volatile boolean isCancelled = false;
 
+    /**
+     * Whether the task is rescheduled after a run that didn't complete it, see {@link #suspend()}.
+     */
+    private final AtomicInteger state = new AtomicInteger(RUNNING);
+
     private final AtomicInteger consecutiveRuns = new AtomicInteger(0);
 
     /**
@@ -153,6 +161,23 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
         isCancelled = true;
     }
 
+    /**
+     * Stops rescheduling the task after the current run, until {@link #resume()} is called. Used by tasks that are
+     * waiting for something to complete elsewhere.
+     */
+    protected void suspend() {
+        state.set(SUSPENDING);
+    }
+
+    /**
+     * Schedules the next run of a suspended task. May be called from any thread.
+     */
+    protected void resume() {
+        if (state.getAndSet(RUNNING) == SUSPENDED) {
+            scheduler.sync(this);
+        }
+    }
+
     @Override
     public final void run() {
         iterationTimer = Timer.start();
@@ -163,7 +188,9 @@ public abstract class IncrementalRunnable extends BukkitRunnable {
         int consecutiveRuns = this.consecutiveRuns.incrementAndGet();
         try {
             if (!execute() && !isCancelled) {
-                scheduler.sync(this, consecutiveRuns < maxConsecutiveRuns ? Duration.ZERO : yieldDelay);
+                if (!state.compareAndSet(SUSPENDING, SUSPENDED)) {
+                    scheduler.sync(this, consecutiveRuns < maxConsecutiveRuns ? Duration.ZERO : yieldDelay);
+                }
             } else {
                 if (onCompletion != null && !isCancelled) {
                     scheduler.sync(onCompletion);
@@ -13,6 +13,7 @@ import us.talabrek.ultimateskyblock.event.ExploitEvents;
 import us.talabrek.ultimateskyblock.event.GriefEvents;
 import us.talabrek.ultimateskyblock.event.InternalEvents;
 import us.talabrek.ultimateskyblock.event.ItemDropEvents;
+import us.talabrek.ultimateskyblock.event.LevelTrackingEvents;
 import us.talabrek.ultimateskyblock.event.MenuEvents;
 import us.talabrek.ultimateskyblock.event.NetherTerraFormEvents;
 import us.talabrek.ultimateskyblock.event.PlayerEvents;
@@ -21,6 +22,9 @@ import us.talabrek.ultimateskyblock.event.ToolMenuEvents;
 import us.talabrek.ultimateskyblock.event.WitherTagEvents;
 import us.talabrek.ultimateskyblock.event.WorldGuardEvents;
 import us.talabrek.ultimateskyblock.gui.GuiListener;
+import us.talabrek.ultimateskyblock.island.level.AutoIslandLevelRefresh;
+import us.talabrek.ultimateskyblock.island.level.ChunkCountCache;
+import us.talabrek.ultimateskyblock.island.level.IncrementalLevelTracker;
 import us.talabrek.ultimateskyblock.signs.SignEvents;
 import us.talabrek.ultimateskyblock.command.InviteHandler;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
@@ -46,6 +50,10 @@ public class Listeners {
     private final ChatEvents chatEvents;
     private final InviteHandler inviteHandler;
     private final PlayerDB playerDB;
+    private final LevelTrackingEvents levelTrackingEvents;
+    private final IncrementalLevelTracker levelTracker;
+    private final ChunkCountCache chunkCountCache;
+    private final AutoIslandLevelRefresh autoIslandLevelRefresh;
 
     @Inject
     public Listeners(
@@ -65,7 +73,11 @@ public class Listeners {
         @NotNull SignEvents signEvents,
         @NotNull ChatEvents chatEvents,
         @NotNull InviteHandler inviteHandler,
-        @NotNull PlayerDB playerDB
+        @NotNull PlayerDB playerDB,
+        @NotNull LevelTrackingEvents levelTrackingEvents,
+        @NotNull IncrementalLevelTracker levelTracker,
+        @NotNull ChunkCountCache chunkCountCache,
+        @NotNull AutoIslandLevelRefresh autoIslandLevelRefresh
     ) {
         this.config = config;
         this.guiListener = guiListener;
@@ -84,6 +96,10 @@ public class Listeners {
         this.chatEvents = chatEvents;
         this.inviteHandler = inviteHandler;
         this.playerDB = playerDB;
+        this.levelTrackingEvents = levelTrackingEvents;
+        this.levelTracker = levelTracker;
+        this.chunkCountCache = chunkCountCache;
+        this.autoIslandLevelRefresh = autoIslandLevelRefresh;
     }
 
     public void registerListeners(Plugin plugin) {
@@ -121,6 +137,9 @@ public class Listeners {
         if (config.getYamlConfig().getBoolean("signs.enabled", true)) {
             manager.registerEvents(signEvents, plugin);
         }
+        if (levelTracker.isEnabled() || chunkCountCache.isEnabled() || autoIslandLevelRefresh.isEnabled()) {
+            manager.registerEvents(levelTrackingEvents, plugin);
+        }
     }
 
     public void unregisterListeners(Plugin plugin) {
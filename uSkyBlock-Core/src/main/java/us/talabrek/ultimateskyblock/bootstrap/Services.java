@@ -9,12 +9,21 @@ import us.talabrek.ultimateskyblock.api.event.EventLogic;
 import us.talabrek.ultimateskyblock.challenge.ChallengeLogic;
 import us.talabrek.ultimateskyblock.command.admin.DebugCommand;
 import us.talabrek.ultimateskyblock.handler.AsyncWorldEditHandler;
+import us.talabrek.ultimateskyblock.handler.SchematicCache;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.handler.placeholder.PlaceholderModule;
+import us.talabrek.ultimateskyblock.handler.task.WorldEditPaste;
 import us.talabrek.ultimateskyblock.hook.HookManager;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.island.IslandPool;
+import us.talabrek.ultimateskyblock.island.OrphanLogic;
 import us.talabrek.ultimateskyblock.island.level.AutoIslandLevelRefresh;
+import us.talabrek.ultimateskyblock.island.level.IncrementalLevelTracker;
+import us.talabrek.ultimateskyblock.island.level.LevelCalculationQueue;
+import us.talabrek.ultimateskyblock.island.level.LevelLogic;
 import us.talabrek.ultimateskyblock.player.PlayerLogic;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
@@ -26,11 +35,19 @@ public class Services {
     private final EventLogic eventLogic;
     private final PlayerLogic playerLogic;
     private final IslandLogic islandLogic;
+    private final OrphanLogic orphanLogic;
+    private final IslandPool islandPool;
+    private final SchematicCache schematicCache;
     private final PlayerDB playerDB;
     private final MetricsManager metricsManager;
     private final HookManager hookManager;
     private final AutoIslandLevelRefresh autoIslandLevelRefresh;
     private final PlaceholderModule placeholderModule;
+    private final LevelLogic levelLogic;
+    private final IncrementalLevelTracker levelTracker;
+    private final LevelCalculationQueue levelQueue;
+    private final DocumentStore documentStore;
+    private final WriteBehindQueue writer;
 
     @Inject
     public Services(
@@ -39,27 +56,45 @@ public class Services {
         @NotNull EventLogic eventLogic,
         @NotNull PlayerLogic playerLogic,
         @NotNull IslandLogic islandLogic,
+        @NotNull OrphanLogic orphanLogic,
+        @NotNull IslandPool islandPool,
+        @NotNull SchematicCache schematicCache,
         @NotNull PlayerDB playerDB,
         @NotNull MetricsManager metricsManager,
         @NotNull HookManager hookManager,
         @NotNull AutoIslandLevelRefresh autoIslandLevelRefresh,
-        @NotNull PlaceholderModule placeholderModule
+        @NotNull PlaceholderModule placeholderModule,
+        @NotNull LevelLogic levelLogic,
+        @NotNull IncrementalLevelTracker levelTracker,
+        @NotNull LevelCalculationQueue levelQueue,
+        @NotNull DocumentStore documentStore,
+        @NotNull WriteBehindQueue writer
     ) {
         this.animationHandler = animationHandler;
         this.challengeLogic = challengeLogic;
         this.eventLogic = eventLogic;
         this.playerLogic = playerLogic;
         this.islandLogic = islandLogic;
+        this.orphanLogic = orphanLogic;
+        this.islandPool = islandPool;
+        this.schematicCache = schematicCache;
         this.playerDB = playerDB;
         this.metricsManager = metricsManager;
         this.hookManager = hookManager;
         this.autoIslandLevelRefresh = autoIslandLevelRefresh;
         this.placeholderModule = placeholderModule;
+        this.levelLogic = levelLogic;
+        this.levelTracker = levelTracker;
+        this.levelQueue = levelQueue;
+        this.documentStore = documentStore;
+        this.writer = writer;
     }
 
     public void startup(uSkyBlock plugin) {
         metricsManager.setup();
         autoIslandLevelRefresh.startup();
+        levelTracker.startup();
+        islandPool.startup();
         placeholderModule.startup(plugin);
     }
 
@@ -68,6 +103,7 @@ public class Services {
 
         // TODO: make these non-static objects
         AsyncWorldEditHandler.onEnable(plugin);
+        schematicCache.preload();
         WorldGuardHandler.setupGlobal(plugin.getWorldManager().getWorld());
         if (plugin.getWorldManager().getNetherWorld() != null) {
             WorldGuardHandler.setupGlobal(plugin.getWorldManager().getNetherWorld());
@@ -76,12 +112,21 @@ public class Services {
 
     public void shutdown(uSkyBlock plugin) {
         autoIslandLevelRefresh.shutdown();
+        levelQueue.shutdown();
+        levelLogic.shutdown();
+        levelTracker.shutdown();
         animationHandler.stop();
         challengeLogic.shutdown();
         eventLogic.shutdown();
         playerLogic.shutdown();
+        WorldEditPaste.cancelAll();
+        islandPool.shutdown();
+        schematicCache.shutdown();
         islandLogic.shutdown();
+        orphanLogic.shutdown();
         playerDB.shutdown();
+        writer.shutdown();
+        documentStore.close();
         AsyncWorldEditHandler.onDisable(plugin);
         DebugCommand.disableLogging(null);
     }
@@ -1,21 +1,27 @@
 package us.talabrek.ultimateskyblock.bootstrap;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import dk.lockfuglsang.minecraft.animation.AnimationHandler;
 import dk.lockfuglsang.minecraft.command.DocumentCommand;
+import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.SkyUpdateChecker;
 import us.talabrek.ultimateskyblock.api.plugin.UpdateChecker;
+import us.talabrek.ultimateskyblock.handler.AsyncWorldEditHandler;
 import us.talabrek.ultimateskyblock.handler.placeholder.MVdWPlaceholderAPI;
 import us.talabrek.ultimateskyblock.handler.placeholder.MvdwPlacehoderProvider;
 import us.talabrek.ultimateskyblock.handler.placeholder.PlaceholderAPI;
 import us.talabrek.ultimateskyblock.handler.placeholder.PlaceholderReplacerImpl;
 import us.talabrek.ultimateskyblock.island.level.ChunkSnapshotLevelLogic;
 import us.talabrek.ultimateskyblock.island.level.LevelLogic;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.StorageType;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.uuid.BukkitPlayerDB;
@@ -23,8 +29,11 @@ import us.talabrek.ultimateskyblock.uuid.FilePlayerDB;
 import us.talabrek.ultimateskyblock.uuid.MemoryPlayerDB;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Duration;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class SkyblockModule extends AbstractModule {
@@ -41,7 +50,6 @@ public class SkyblockModule extends AbstractModule {
         bind(uSkyBlock.class).toInstance(plugin);
         bind(Plugin.class).toInstance(plugin);
         bind(Path.class).annotatedWith(PluginDataDir.class).toInstance(plugin.getDataFolder().toPath());
-        bind(LevelLogic.class).to(ChunkSnapshotLevelLogic.class);
         bind(UpdateChecker.class).to(SkyUpdateChecker.class);
         bind(Clock.class).toInstance(Clock.systemUTC());
         bind(PlaceholderAPI.PlaceholderReplacer.class).to(PlaceholderReplacerImpl.class);
@@ -62,6 +70,48 @@ public class SkyblockModule extends AbstractModule {
         }
     }
 
+    @Provides
+    @Singleton
+    public static @NotNull LevelLogic provideLevelLogic(PluginConfig config, Injector injector, Logger logger) {
+        String levelEngine = config.getYamlConfig().getString("options.advanced.levelEngine", "snapshot");
+        if (levelEngine.equalsIgnoreCase("fawe")) {
+            if (AsyncWorldEditHandler.getFAWE() != null) {
+                try {
+                    return (LevelLogic) injector.getInstance(Class.forName("us.talabrek.ultimateskyblock.island.level.AweLevelLogic"));
+                } catch (ClassNotFoundException | LinkageError e) {
+                    logger.log(Level.WARNING, "Unable to use the FAWE level engine, falling back to chunk snapshots", e);
+                }
+            } else {
+                logger.warning("FastAsyncWorldEdit is not installed, falling back to chunk snapshots for level calculation");
+            }
+        }
+        return injector.getInstance(ChunkSnapshotLevelLogic.class);
+    }
+
+    @Provides
+    @Singleton
+    public static @NotNull DocumentStore provideDocumentStore(PluginConfig config, @PluginDataDir Path dataDir, Logger logger) {
+        String storage = config.getYamlConfig().getString("options.advanced.storage", "yml");
+        StorageType type = StorageType.fromName(storage);
+        if (type == null) {
+            // Falling back to another storage would hide all the existing islands and players
+            throw new IllegalStateException("Unknown storage '" + storage + "' in options.advanced.storage, expected yml or sqlite");
+        }
+        try {
+            return type.open(dataDir, logger);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open the " + storage + " storage", e);
+        }
+    }
+
+    @Provides
+    @Singleton
+    public static @NotNull WriteBehindQueue provideWriteBehindQueue(PluginConfig config, DocumentStore store, Logger logger) {
+        Duration delay = Duration.ofMillis(config.getYamlConfig().getLong("options.advanced.storageWriteDelay", 2000));
+        int maxPending = config.getYamlConfig().getInt("options.advanced.storageMaxPending", 2000);
+        return new WriteBehindQueue(store, logger, delay, maxPending, () -> !Bukkit.isPrimaryThread());
+    }
+
     @Provides
     @Singleton
     public static @NotNull AnimationHandler provideAnimationHandler(Plugin plugin) {
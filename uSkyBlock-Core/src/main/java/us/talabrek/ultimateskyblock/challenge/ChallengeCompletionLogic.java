@@ -4,16 +4,16 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
-import java.io.File;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
@@ -28,12 +28,13 @@ import java.util.logging.Level;
 public class ChallengeCompletionLogic {
 
     private final uSkyBlock plugin;
-    private final File storageFolder;
+    private final DocumentStore store;
     private final boolean storeOnIsland;
     private final LoadingCache<String, Map<String, ChallengeCompletion>> completionCache;
 
-    public ChallengeCompletionLogic(uSkyBlock plugin, FileConfiguration config) {
+    public ChallengeCompletionLogic(uSkyBlock plugin, FileConfiguration config, DocumentStore store) {
         this.plugin = plugin;
+        this.store = store;
         storeOnIsland = config.getString("challengeSharing", "island").equalsIgnoreCase("island");
         completionCache = CacheBuilder
             .from(plugin.getConfig().getString("options.advanced.completionCache", "maximumSize=200,expireAfterWrite=15m,expireAfterAccess=10m"))
@@ -45,20 +46,15 @@ public class ChallengeCompletionLogic {
                        }
                    }
             );
-        storageFolder = new File(plugin.getDataFolder(), "completion");
-        if (!storageFolder.exists() || !storageFolder.isDirectory()) {
-            storageFolder.mkdirs();
-        }
     }
 
     private void saveToFile(String id, Map<String, ChallengeCompletion> map) {
-        File configFile = new File(storageFolder, id + ".yml");
         FileConfiguration fileConfiguration = new YamlConfiguration();
         saveToConfiguration(fileConfiguration, map);
         try {
-            fileConfiguration.save(configFile);
+            store.save(DocumentKind.COMPLETION, id, fileConfiguration);
         } catch (IOException e) {
-            plugin.getLogger().log(Level.WARNING, "Unable to store challenge-completion to " + configFile, e);
+            plugin.getLogger().log(Level.WARNING, "Unable to store challenge-completion for id " + id, e);
         }
     }
 
@@ -76,22 +72,17 @@ public class ChallengeCompletionLogic {
     }
 
     private Map<String, ChallengeCompletion> loadFromFile(String id) {
-        File configFile = new File(storageFolder, id + ".yml");
-        if (!configFile.exists() && storeOnIsland) {
+        FileConfiguration fileConfiguration = new YamlConfiguration();
+        boolean found = store.load(DocumentKind.COMPLETION, id, fileConfiguration);
+        if (!found && storeOnIsland) {
             IslandInfo islandInfo = plugin.getIslandInfo(id);
-            if (islandInfo != null && islandInfo.getLeader() != null && islandInfo.getLeaderUniqueId() != null) {
-                File leaderFile = new File(storageFolder, islandInfo.getLeaderUniqueId().toString() + ".yml");
-                if (leaderFile.exists()) {
-                    leaderFile.renameTo(configFile);
-                }
+            if (islandInfo != null && islandInfo.getLeader() != null && islandInfo.getLeaderUniqueId() != null
+                && store.rename(DocumentKind.COMPLETION, islandInfo.getLeaderUniqueId().toString(), id)) {
+                found = store.load(DocumentKind.COMPLETION, id, fileConfiguration);
             }
         }
-        if (configFile.exists()) {
-            FileConfiguration fileConfiguration = new YamlConfiguration();
-            FileUtil.readConfig(fileConfiguration, configFile);
-            if (fileConfiguration.getRoot() != null) {
-                return loadFromConfiguration(fileConfiguration.getRoot());
-            }
+        if (found && fileConfiguration.getRoot() != null) {
+            return loadFromConfiguration(fileConfiguration.getRoot());
         }
         return new ConcurrentHashMap<>();
     }
@@ -203,7 +194,7 @@ public class ChallengeCompletionLogic {
 
     public long flushCache() {
         long size = completionCache.size();
-        completionCache.invalidateAll();
+        store.batch(completionCache::invalidateAll);
         return size;
     }
 
@@ -29,6 +29,7 @@ import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.player.Perk;
 import us.talabrek.ultimateskyblock.player.PerkLogic;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 
 import java.time.Duration;
@@ -79,7 +80,8 @@ public class ChallengeLogic implements Listener {
         @NotNull Logger logger,
         @NotNull uSkyBlock plugin,
         @NotNull PerkLogic perkLogic,
-        @NotNull HookManager hookManager
+        @NotNull HookManager hookManager,
+        @NotNull DocumentStore store
     ) {
         this.logger = logger;
         this.perkLogic = perkLogic;
@@ -88,7 +90,7 @@ public class ChallengeLogic implements Listener {
         this.plugin = plugin;
         this.defaults = ChallengeFactory.createDefaults(config.getRoot());
         ranks = ChallengeFactory.createRankMap(config.getConfigurationSection("ranks"), defaults);
-        completionLogic = new ChallengeCompletionLogic(plugin, config);
+        completionLogic = new ChallengeCompletionLogic(plugin, config, store);
         String displayItemForLocked = config.getString("lockedDisplayItem", null);
         if (displayItemForLocked != null) {
             lockedItem = ItemStackUtil.createItemStack(displayItemForLocked);
@@ -27,6 +27,7 @@ import us.talabrek.ultimateskyblock.command.admin.PurgeCommand;
 import us.talabrek.ultimateskyblock.command.admin.RegionCommand;
 import us.talabrek.ultimateskyblock.command.admin.ReloadCommand;
 import us.talabrek.ultimateskyblock.command.admin.SetMaintenanceCommand;
+import us.talabrek.ultimateskyblock.command.admin.StorageCommand;
 import us.talabrek.ultimateskyblock.command.admin.VersionCommand;
 import us.talabrek.ultimateskyblock.command.admin.WGCommand;
 import us.talabrek.ultimateskyblock.command.completion.AllPlayerTabCompleter;
@@ -80,7 +81,8 @@ public class AdminCommand extends BaseCommandExecutor {
         @NotNull SetMaintenanceCommand setMaintenanceCommand,
         @NotNull ItemInfoCommand itemInfoCommand,
         @NotNull ProtectAllCommand protectAllCommand,
-        @NotNull ChunkCommand chunkCommand
+        @NotNull ChunkCommand chunkCommand,
+        @NotNull StorageCommand storageCommand
 
     ) {
         super("usb", null, marktr("Ultimate SkyBlock Admin"));
@@ -117,5 +119,6 @@ public class AdminCommand extends BaseCommandExecutor {
         add(itemInfoCommand);
         add(protectAllCommand);
         add(chunkCommand);
+        add(storageCommand);
     }
 }
@@ -4,8 +4,11 @@ import com.google.inject.Inject;
 import dk.lockfuglsang.minecraft.command.AbstractCommand;
 import org.bukkit.command.CommandSender;
 import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
 
+import java.time.Duration;
 import java.util.Map;
 
 import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
@@ -13,11 +16,15 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
 public class FlushCommand extends AbstractCommand {
     private final uSkyBlock plugin;
+    private final WriteBehindQueue writer;
+    private final Scheduler scheduler;
 
     @Inject
-    public FlushCommand(@NotNull uSkyBlock plugin) {
+    public FlushCommand(@NotNull uSkyBlock plugin, @NotNull WriteBehindQueue writer, @NotNull Scheduler scheduler) {
         super("flush", "usb.admin.cache", marktr("flushes all caches to files"));
         this.plugin = plugin;
+        this.writer = writer;
+        this.scheduler = scheduler;
     }
 
     @Override
@@ -25,7 +32,15 @@ public class FlushCommand extends AbstractCommand {
         long flushedIslands = plugin.getIslandLogic().flushCache();
         long flushedPlayers = plugin.getPlayerLogic().flushCache();
         long flushedChallenges = plugin.getChallengeLogic().flushCache();
-        sender.sendMessage(tr("\u00a7eFlushed \u00a7a{0} islands\u00a7e, \u00a7b{1} players and \u00a76{2} challenge-completions.", flushedIslands, flushedPlayers, flushedChallenges));
+        int pending = writer.getPending();
+        // Wait for the writer off the main thread, and report once everything is on disk
+        scheduler.async(() -> {
+            if (writer.flush(Duration.ofMinutes(1))) {
+                sender.sendMessage(tr("\u00a7eFlushed \u00a7a{0} islands\u00a7e, \u00a7b{1} players and \u00a76{2} challenge-completions.", flushedIslands, flushedPlayers, flushedChallenges));
+            } else {
+                sender.sendMessage(tr("\u00a74Timed out waiting for \u00a79{0}\u00a74 pending writes, they will be saved in the background.", pending));
+            }
+        });
         return true;
     }
 }
@@ -5,7 +5,9 @@ import dk.lockfuglsang.minecraft.command.AbstractCommand;
 import dk.lockfuglsang.minecraft.command.CompositeCommand;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.async.JobManager;
+import us.talabrek.ultimateskyblock.island.level.LevelCalculationQueue;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -21,7 +23,7 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 public class JobsCommand extends CompositeCommand {
 
     @Inject
-    public JobsCommand() {
+    public JobsCommand(@NotNull LevelCalculationQueue levelQueue) {
         super("jobs|j", "usb.admin.jobs", marktr("controls async jobs"));
 
         add(new AbstractCommand("stats|s", "usb.admin.jobs.stats", "show statistics") {
@@ -46,6 +48,18 @@ public class JobsCommand extends CompositeCommand {
                         tr(jobName)
                     ));
                 }
+                sb.append(tr("\u00a79Level Calculations \u00a77({0}/{1} running)", levelQueue.getRunning(), levelQueue.getMaxConcurrent())).append("\n");
+                sb.append(String.format("\u00a77%-6s %-8s %-8s %-8s %-20s\n",
+                    tr("queued"), tr("started"), tr("avg wait"), tr("max wait"), tr("priority")));
+                for (Map.Entry<LevelCalculationQueue.Priority, LevelCalculationQueue.Stats> entry : levelQueue.getStats().entrySet()) {
+                    LevelCalculationQueue.Stats stat = entry.getValue();
+                    sb.append(String.format("\u00a7c%6d \u00a77%8d %8s %8s \u00a79%-20s \n", stat.getQueued(),
+                        stat.getStarted(),
+                        TimeUtil.durationAsShort(stat.getAvgWait()),
+                        TimeUtil.durationAsShort(stat.getMaxWait()),
+                        entry.getKey().name().toLowerCase()
+                    ));
+                }
                 sender.sendMessage(sb.toString().split("\n"));
                 return true;
             }
@@ -50,7 +50,7 @@ public class ProtectAllCommand extends AbstractCommand {
         sender.sendMessage(tr("\u00a7eStarting a protect-all task. It will take a while."));
         Duration feedbackFrequency = Duration.ofMillis(plugin.getConfig().getLong("async.long.feedbackEvery", 30000));
         ProgressTracker tracker = new ProgressTracker(sender, "\u00a77- Protect-All {0,number,##}% ({1}/{2}, failed:{3}, skipped:{4}) ~ {5}", 10, feedbackFrequency);
-        task = new ProtectAllTask(plugin, sender, islandLogic.getIslandDirectory(), tracker);
+        task = new ProtectAllTask(plugin, sender, islandLogic, tracker);
         task.runTaskAsynchronously(plugin);
         return true;
     }
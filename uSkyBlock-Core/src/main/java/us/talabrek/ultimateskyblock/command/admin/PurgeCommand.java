@@ -60,7 +60,7 @@ public class PurgeCommand extends AbstractCommand {
 
         Duration time = Duration.ofDays(Integer.parseInt(days, 10));
         sender.sendMessage(tr("\u00a7eFinding all islands that have been abandoned for more than {0} days below level {1}", args[0], purgeLevel));
-        scanTask = new PurgeScanTask(plugin, islandLogic.getIslandDirectory().toFile(), time, purgeLevel, sender, () -> {
+        scanTask = new PurgeScanTask(plugin, islandLogic.getIslandNames(), time, purgeLevel, sender, () -> {
             if (force) {
                 doPurge(sender);
             } else {
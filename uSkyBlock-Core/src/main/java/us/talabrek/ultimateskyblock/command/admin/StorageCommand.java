@@ -0,0 +1,116 @@
+package us.talabrek.ultimateskyblock.command.admin;
+
+import com.google.inject.Inject;
+import dk.lockfuglsang.minecraft.command.AbstractCommand;
+import dk.lockfuglsang.minecraft.command.CompositeCommand;
+import dk.lockfuglsang.minecraft.util.Timer;
+import org.bukkit.command.CommandSender;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentMigration;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.StorageType;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.ProgressTracker;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
+import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
+
+/**
+ * Shows the island, player and challenge-completion storage, and migrates it between the storage types.
+ */
+public class StorageCommand extends CompositeCommand {
+    private volatile boolean migrating = false;
+
+    @Inject
+    public StorageCommand(
+        @NotNull uSkyBlock plugin,
+        @NotNull DocumentStore store,
+        @NotNull WriteBehindQueue writer,
+        @NotNull Scheduler scheduler,
+        @NotNull Logger logger,
+        @NotNull @PluginDataDir Path dataDir
+    ) {
+        super("storage", "usb.admin.storage", marktr("manage the island and player storage"));
+        add(new AbstractCommand("info", marktr("show the storage type and number of documents")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                sender.sendMessage(tr("\u00a7eStorage: \u00a79{0}", store.getType().name().toLowerCase()));
+                for (DocumentKind kind : DocumentKind.values()) {
+                    sender.sendMessage(tr("\u00a77- {0}: \u00a7a{1}", kind.getName(), store.count(kind)));
+                }
+                return true;
+            }
+        });
+        add(new AbstractCommand("migrate", null, "from to", marktr("copies all islands, players and challenge-completions to another storage")) {
+            @Override
+            public boolean execute(CommandSender sender, String alias, Map<String, Object> data, String... args) {
+                if (args.length != 2) {
+                    return false;
+                }
+                StorageType fromType = StorageType.fromName(args[0]);
+                StorageType toType = StorageType.fromName(args[1]);
+                if (fromType == null || toType == null || fromType == toType) {
+                    sender.sendMessage(tr("\u00a74Specify two different storage types, valid types are: \u00a79yml, sqlite"));
+                    return true;
+                }
+                if (!plugin.isMaintenanceMode()) {
+                    sender.sendMessage(tr("\u00a74Storage can only be migrated in maintenance mode, use \u00a79usb maintenance true"));
+                    return true;
+                }
+                if (migrating) {
+                    sender.sendMessage(tr("\u00a74A storage migration is already running."));
+                    return true;
+                }
+                migrating = true;
+                plugin.getChallengeLogic().flushCache();
+                sender.sendMessage(tr("\u00a7eMigrating storage from \u00a79{0}\u00a7e to \u00a79{1}\u00a7e...", args[0], args[1]));
+                scheduler.async(() -> {
+                    try {
+                        writer.flush(Duration.ofMinutes(1));
+                        migrate(sender, fromType, toType);
+                    } finally {
+                        migrating = false;
+                    }
+                });
+                return true;
+            }
+
+            private void migrate(CommandSender sender, StorageType fromType, StorageType toType) {
+                DocumentStore from = null;
+                DocumentStore to = null;
+                try {
+                    from = store.getType() == fromType ? store : fromType.open(dataDir, logger);
+                    to = store.getType() == toType ? store : toType.open(dataDir, logger);
+                    Timer timer = Timer.start();
+                    Duration feedbackEvery = Duration.ofMillis(plugin.getConfig().getLong("async.long.feedbackEvery", 30000));
+                    ProgressTracker tracker = new ProgressTracker(sender, marktr("\u00a77- MIGRATING: {0,number,##}% ({1}/{2}) ~ {3}"), 10, feedbackEvery);
+                    DocumentMigration migration = new DocumentMigration(from, to, logger);
+                    migration.run((done, total) -> tracker.progressUpdate(done, total, timer.elapsedAsString()));
+                    sender.sendMessage(tr("\u00a7eMigrated \u00a7a{0}\u00a7e documents in {1}, \u00a7c{2}\u00a7e failed. Set \u00a79options.advanced.storage\u00a7e to \u00a79{3}\u00a7e and restart the server to use it.",
+                        migration.getMigrated(), timer.elapsedAsString(), migration.getFailed(), toType.name().toLowerCase()));
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, "Unable to migrate storage from " + fromType + " to " + toType, e);
+                    sender.sendMessage(tr("\u00a74Storage migration failed: {0}", e.getMessage()));
+                } finally {
+                    if (from != null && from != store) {
+                        from.close();
+                    }
+                    if (to != null && to != store) {
+                        to.close();
+                    }
+                }
+            }
+        });
+    }
+}
@@ -1,20 +1,19 @@
 package us.talabrek.ultimateskyblock.command.admin.task;
 
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.IslandLogic;
 import us.talabrek.ultimateskyblock.uSkyBlock;
-import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.LogUtil;
 import us.talabrek.ultimateskyblock.util.ProgressTracker;
 
-import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,15 +27,15 @@ public class ProtectAllTask extends BukkitRunnable {
     private final CommandSender sender;
     private final uSkyBlock plugin;
     private final ProgressTracker tracker;
-    private final Path islandDirectory;
+    private final IslandLogic islandLogic;
 
     private volatile boolean active;
 
-    public ProtectAllTask(final uSkyBlock plugin, final CommandSender sender, Path islandDirectory, ProgressTracker tracker) {
+    public ProtectAllTask(final uSkyBlock plugin, final CommandSender sender, IslandLogic islandLogic, ProgressTracker tracker) {
         this.plugin = plugin;
         this.tracker = tracker;
         this.sender = sender;
-        this.islandDirectory = islandDirectory;
+        this.islandLogic = islandLogic;
     }
 
     public boolean isActive() {
@@ -55,27 +54,24 @@ public class ProtectAllTask extends BukkitRunnable {
         long skipped = 0;
         Instant tStart = Instant.now();
         try {
-            String[] list = islandDirectory.toFile().list(IslandUtil.createIslandFilenameFilter());
-            long total = list != null ? list.length : 0;
-            if (list != null) {
-                for (String fileName : list) {
-                    if (!active) {
-                        break;
-                    }
-                    String islandName = FileUtil.getBasename(fileName);
-                    IslandInfo islandInfo = plugin.getIslandInfo(islandName);
-                    try {
-                        if (WorldGuardHandler.protectIsland(plugin, sender, islandInfo)) {
-                            success++;
-                        } else {
-                            skipped++;
-                        }
-                    } catch (Exception e) {
-                        log.log(Level.INFO, "Error occurred trying to process " + fileName, e);
-                        failed++;
+            List<String> islandNames = islandLogic.getIslandNames();
+            long total = islandNames.size();
+            for (String islandName : islandNames) {
+                if (!active) {
+                    break;
+                }
+                IslandInfo islandInfo = plugin.getIslandInfo(islandName);
+                try {
+                    if (WorldGuardHandler.protectIsland(plugin, sender, islandInfo)) {
+                        success++;
+                    } else {
+                        skipped++;
                     }
-                    tracker.progressUpdate(success + failed + skipped, total, failed, skipped, getElapsed(tStart));
+                } catch (Exception e) {
+                    log.log(Level.INFO, "Error occurred trying to process " + islandName, e);
+                    failed++;
                 }
+                tracker.progressUpdate(success + failed + skipped, total, failed, skipped, getElapsed(tStart));
             }
         } finally {
             if (!active) {
@@ -1,21 +1,17 @@
 package us.talabrek.ultimateskyblock.command.admin.task;
 
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import dk.lockfuglsang.minecraft.util.Timer;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.scheduler.BukkitRunnable;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.uSkyBlock;
-import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.ProgressTracker;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
-import java.io.File;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -43,13 +39,12 @@ public class PurgeScanTask extends BukkitRunnable {
     private volatile boolean active;
     private boolean done;
 
-    public PurgeScanTask(uSkyBlock plugin, File islandDir, Duration time, double purgeLevel, CommandSender sender, Runnable callback) {
+    public PurgeScanTask(uSkyBlock plugin, List<String> islandNames, Duration time, double purgeLevel, CommandSender sender, Runnable callback) {
         this.plugin = plugin;
         this.sender = sender;
         this.callback = callback;
         this.cutOff = Instant.now().minus(time);
-        String[] islandList = islandDir.list(IslandUtil.createIslandFilenameFilter());
-        this.islandList = new ArrayList<>(Arrays.asList(islandList));
+        this.islandList = new ArrayList<>(islandNames);
         purgeList = new ArrayList<>();
         this.purgeLevel = purgeLevel;
         Duration feedbackEvery = Duration.ofMillis(plugin.getConfig().getLong("async.long.feedbackEvery", 30000));
@@ -67,8 +62,7 @@ public class PurgeScanTask extends BukkitRunnable {
             if (!active) {
                 break;
             }
-            String islandFile = islandList.remove(0);
-            String islandName = FileUtil.getBasename(islandFile);
+            String islandName = islandList.remove(0);
             try {
                 IslandInfo islandInfo = plugin.getIslandInfo(islandName);
                 if (islandInfo != null) {
@@ -76,6 +76,14 @@ public class InfoCommand extends RequireIslandCommand {
         final Callback<IslandScore> showInfo = new Callback<>() {
             @Override
             public void run() {
+                PatienceTester.stopRunning(player, "usb.island.info.active");
+                if (getState() == null) {
+                    // The calculation was aborted
+                    if (player.isOnline()) {
+                        player.sendMessage(tr("\u00a74Could not calculate the level of {0}s island, try again later.", islandPlayer));
+                    }
+                    return;
+                }
                 if (player.isOnline()) {
                     int maxPage = ((getState().getSize() - 1) / 10) + 1;
                     int currentPage = page;
@@ -86,7 +94,7 @@ public class InfoCommand extends RequireIslandCommand {
                         currentPage = maxPage;
                     }
                     player.sendMessage(tr("\u00a7eBlocks on {0}s Island (page {1,number} of {2,number}):", islandPlayer, currentPage, maxPage));
-                    if (cmd.equalsIgnoreCase("info") && getState() != null) {
+                    if (cmd.equalsIgnoreCase("info")) {
                         player.sendMessage(tr("Score Count Block"));
                         for (BlockScore score : getState().getTop((currentPage - 1) * 10, 10)) {
                             player.sendMessage(score.getState().getColor() + tr("{0,number,00.00}  {1,number,#} {2}",
@@ -96,13 +104,13 @@ public class InfoCommand extends RequireIslandCommand {
                         player.sendMessage(tr("\u00a7aIsland level is {0,number,###.##}", getState().getScore()));
                     }
                 }
-                PatienceTester.stopRunning(player, "usb.island.info.active");
             }
         };
         try {
             PatienceTester.startRunning(player, "usb.island.info.active");
             plugin.calculateScoreAsync(player, playerInfo.locationForParty(), showInfo);
         } catch (Exception e) {
+            PatienceTester.stopRunning(player, "usb.island.info.active");
             logger.log(Level.SEVERE, "Error while calculating Island Level", e);
         }
         return true;
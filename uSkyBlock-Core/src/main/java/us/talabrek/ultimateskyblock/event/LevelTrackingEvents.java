@@ -0,0 +1,223 @@
+package us.talabrek.ultimateskyblock.event;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.PistonMoveReaction;
+import org.bukkit.block.data.Directional;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockDispenseEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockGrowEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.world.StructureGrowEvent;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.api.event.RestartIslandEvent;
+import us.talabrek.ultimateskyblock.island.level.AutoIslandLevelRefresh;
+import us.talabrek.ultimateskyblock.island.level.ChunkCountCache;
+import us.talabrek.ultimateskyblock.island.level.IncrementalLevelTracker;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.util.List;
+
+/**
+ * Feeds the blocks changed on islands to the {@link IncrementalLevelTracker}, the {@link ChunkCountCache}
+ * and the {@link AutoIslandLevelRefresh}.
+ * <p>
+ * Only changes made through Bukkit events are seen. Edits by WorldEdit and other plugins that set blocks
+ * directly are not, and are only picked up by the next full scan of the island.
+ */
+@Singleton
+public class LevelTrackingEvents implements Listener {
+    private final IncrementalLevelTracker levelTracker;
+    private final ChunkCountCache chunkCache;
+    private final AutoIslandLevelRefresh autoRefresh;
+    private final Scheduler scheduler;
+
+    @Inject
+    public LevelTrackingEvents(@NotNull IncrementalLevelTracker levelTracker, @NotNull ChunkCountCache chunkCache,
+                               @NotNull AutoIslandLevelRefresh autoRefresh, @NotNull Scheduler scheduler) {
+        this.levelTracker = levelTracker;
+        this.chunkCache = chunkCache;
+        this.autoRefresh = autoRefresh;
+        this.scheduler = scheduler;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        Block placed = event.getBlock();
+        blockChanged(placed, event.getBlockReplacedState().getType(), placed.getType());
+        if (event instanceof BlockMultiPlaceEvent multiPlaceEvent) {
+            // The other half of beds, doors and tall plants
+            for (BlockState state : multiPlaceEvent.getReplacedBlockStates()) {
+                if (!state.getLocation().equals(placed.getLocation())) {
+                    blockChanged(state.getBlock(), state.getType(), state.getBlock().getType());
+                }
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        blockRemoved(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        blockRemoved(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        blockRemoved(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        event.blockList().forEach(this::blockRemoved);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        event.blockList().forEach(this::blockRemoved);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        movePistonBlocks(event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        movePistonBlocks(event.getBlocks(), event.getDirection());
+    }
+
+    private void movePistonBlocks(List<Block> blocks, BlockFace direction) {
+        for (Block block : blocks) {
+            blockRemoved(block);
+        }
+        for (Block block : blocks) {
+            if (block.getPistonMoveReaction() != PistonMoveReaction.BREAK) {
+                blockAdded(block.getRelative(direction), block.getType());
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        Block source = event.getBlock();
+        Block target = event.getToBlock();
+        if (source.getType() == Material.DRAGON_EGG) {
+            blockRemoved(source);
+            blockAdded(target, Material.DRAGON_EGG);
+        } else {
+            blockChanged(target, target.getType(), source.getType());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockGrow(BlockGrowEvent event) {
+        blockChanged(event.getBlock(), event.getBlock().getType(), event.getNewState().getType());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        blockChanged(event.getBlock(), event.getBlock().getType(), event.getNewState().getType());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpread(BlockSpreadEvent event) {
+        blockChanged(event.getBlock(), event.getBlock().getType(), event.getNewState().getType());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        blockChanged(event.getBlock(), event.getBlock().getType(), event.getNewState().getType());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onStructureGrow(StructureGrowEvent event) {
+        for (BlockState state : event.getBlocks()) {
+            blockChanged(state.getBlock(), state.getBlock().getType(), state.getType());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        // Falling sand and gravel, endermen, silverfish, ravagers...
+        blockChanged(event.getBlock(), event.getBlock().getType(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        blockChangedNextTick(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        blockChangedNextTick(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockDispense(BlockDispenseEvent event) {
+        if (event.getBlock().getBlockData() instanceof Directional directional) {
+            blockChangedNextTick(event.getBlock().getRelative(directional.getFacing()));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRestart(RestartIslandEvent event) {
+        String islandName = LocationUtil.getIslandName(event.getIslandLocation());
+        levelTracker.untrack(islandName);
+        chunkCache.invalidateIsland(islandName);
+    }
+
+    private void blockAdded(Block block, Material type) {
+        levelTracker.blockAdded(block, type);
+        chunkCache.invalidate(block.getLocation());
+        autoRefresh.markDirty(block.getLocation());
+    }
+
+    private void blockRemoved(Block block) {
+        levelTracker.blockRemoved(block);
+        chunkCache.invalidate(block.getLocation());
+        autoRefresh.markDirty(block.getLocation());
+    }
+
+    /**
+     * Tracks a change whose resulting block isn't known until the event has been handled, like
+     * waterlogging a block or a dispenser placing its item.
+     */
+    private void blockChangedNextTick(Block block) {
+        Material oldType = block.getType();
+        chunkCache.invalidate(block.getLocation());
+        autoRefresh.markDirty(block.getLocation());
+        scheduler.sync(() -> blockChanged(block, oldType, block.getType()));
+    }
+
+    private void blockChanged(Block block, Material oldType, Material newType) {
+        levelTracker.blockChanged(block, oldType, newType);
+        chunkCache.invalidate(block.getLocation());
+        autoRefresh.markDirty(block.getLocation());
+    }
+}
@@ -304,12 +304,23 @@ public class PlayerEvents implements Listener {
         }
         final Player player = event.getPlayer();
         boolean isAdmin = player.isOp() || player.hasPermission("usb.mod.bypassprotection");
-        IslandInfo islandInfo = uSkyBlock.getInstance().getIslandInfo(WorldGuardHandler.getIslandNameAt(event.getTo()));
+        final String islandName = WorldGuardHandler.getIslandNameAt(event.getTo());
+        IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfoIfLoaded(islandName);
+        if (!isAdmin && islandInfo == null && islandName != null) {
+            // Allow the teleport while the island loads, and send the player to spawn if they weren't allowed there
+            plugin.getIslandLogic().loadIslandInfoAsync(islandName, loaded -> {
+                if (loaded != null && player.isOnline() && islandName.equals(WorldGuardHandler.getIslandNameAt(player.getLocation()))
+                        && (loaded.isBanned(player.getUniqueId()) || isLockedFor(loaded, player))) {
+                    player.sendMessage(tr("\u00a74You are not allowed on that island.\u00a7e Sending you to spawn."));
+                    plugin.getTeleportLogic().spawnTeleport(player, true);
+                }
+            });
+        }
         if (!isAdmin && islandInfo != null && islandInfo.isBanned(player.getUniqueId())) {
             event.setCancelled(true);
             player.sendMessage(tr("\u00a74That player has forbidden you from teleporting to their island."));
         }
-        if (!isAdmin && islandInfo != null && islandInfo.isLocked() && !islandInfo.getMembers().contains(player.getName()) && !islandInfo.isTrusted(player)) {
+        if (!isAdmin && islandInfo != null && isLockedFor(islandInfo, player)) {
             event.setCancelled(true);
             player.sendMessage(tr("\u00a74That island is \u00a7clocked.\u00a7e No teleporting to the island."));
         }
@@ -319,6 +330,10 @@ public class PlayerEvents implements Listener {
         }
     }
 
+    private static boolean isLockedFor(IslandInfo islandInfo, Player player) {
+        return islandInfo.isLocked() && !islandInfo.isMember(player.getUniqueId()) && !islandInfo.isTrusted(player);
+    }
+
     private RateLimiter rateLimiter = RateLimiter.create(1);
 
     @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -372,11 +387,17 @@ public class PlayerEvents implements Listener {
             return; // Skip
         }
 
-        IslandInfo islandInfo = plugin.getIslandInfo(event.getBlock().getLocation());
+        Material type = event.getBlock().getType();
+        String islandName = WorldGuardHandler.getIslandNameAt(event.getBlock().getLocation());
+        IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfoIfLoaded(islandName);
         if (islandInfo == null) {
+            if (islandName != null && !plugin.isMaintenanceMode() && plugin.getBlockLimitLogic().getLimits().containsKey(type)) {
+                // Limited blocks can't be counted until the island is loaded
+                event.setCancelled(true);
+                player.sendMessage(tr("\u00a7eYour island is loading, please try again."));
+            }
             return;
         }
-        Material type = event.getBlock().getType();
         BlockLimitLogic.CanPlace canPlace = plugin.getBlockLimitLogic().canPlace(type, islandInfo);
         if (canPlace == BlockLimitLogic.CanPlace.UNCERTAIN) {
             event.setCancelled(true);
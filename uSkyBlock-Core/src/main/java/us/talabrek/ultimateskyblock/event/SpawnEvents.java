@@ -234,9 +234,9 @@ public class SpawnEvents implements Listener {
             event.setCancelled(true); // Only allow spawning on active islands...
             return;
         }
-        IslandInfo islandInfo = plugin.getIslandInfo(islandName);
+        IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfoIfLoaded(islandName);
         if (islandInfo == null) {
-            // Disallow spawns on inactive islands
+            // Disallow spawns on inactive islands, and on islands that are still loading
             event.setCancelled(true);
             return;
         }
@@ -33,11 +33,16 @@ public class WorldGuardEvents implements Listener {
         if (e.getTo() == null || !plugin.getWorldManager().isSkyAssociatedWorld(e.getTo().getWorld())) {
             return;
         }
+        if (plugin.getWorldManager().isSkyWorld(e.getTo().getWorld())
+                && (e.getFrom().getBlockX() >> 4 != e.getTo().getBlockX() >> 4 || e.getFrom().getBlockZ() >> 4 != e.getTo().getBlockZ() >> 4)) {
+            plugin.getIslandLogic().prefetchIslandsAround(e.getTo());
+        }
         String islandNameAt = WorldGuardHandler.getIslandNameAt(e.getTo());
         if (islandNameAt == null) {
             return;
         }
-        IslandInfo islandInfo = plugin.getIslandInfo(islandNameAt);
+        // Lets the player in while the island loads, the islands around players are prefetched
+        IslandInfo islandInfo = plugin.getIslandLogic().getIslandInfoIfLoaded(islandNameAt);
         if (islandInfo == null || islandInfo.getBans().isEmpty()) {
             return;
         }
@@ -60,8 +65,8 @@ public class WorldGuardEvents implements Listener {
 
     private boolean isBlockedFromEntry(Player player, IslandInfo islandInfo) {
         return islandInfo.isBanned(player) || (islandInfo.isLocked() && !(
-                islandInfo.getMembers().contains(player.getName()) ||
-                        islandInfo.getTrusteeUUIDs().contains(player.getUniqueId())
+                islandInfo.isMember(player.getUniqueId()) ||
+                        islandInfo.isTrusted(player.getUniqueId())
                 ));
     }
 }
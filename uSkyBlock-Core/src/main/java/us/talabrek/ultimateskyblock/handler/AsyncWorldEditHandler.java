@@ -42,7 +42,11 @@ public enum AsyncWorldEditHandler {;
     }
 
     public static void loadIslandSchematic(File file, Location origin, PlayerPerk playerPerk) {
-        new WEPasteSchematic(file, origin, playerPerk).runTask(uSkyBlock.getInstance());
+        loadIslandSchematic(file, origin, playerPerk, null);
+    }
+
+    public static void loadIslandSchematic(File file, Location origin, PlayerPerk playerPerk, Runnable onCompletion) {
+        new WEPasteSchematic(file, origin, playerPerk, onCompletion).runTask(uSkyBlock.getInstance());
     }
 
     public static void regenerate(Region region, Runnable onCompletion) {
@@ -94,8 +98,8 @@ public enum AsyncWorldEditHandler {;
         }
 
         @Override
-        public void loadIslandSchematic(File file, Location origin, PlayerPerk playerPerk) {
-            WorldEditHandler.loadIslandSchematic(file, origin, playerPerk);
+        public void loadIslandSchematic(File file, Location origin, PlayerPerk playerPerk, Runnable onCompletion) {
+            WorldEditHandler.loadIslandSchematic(file, origin, playerPerk, onCompletion);
         }
 
         @Override
@@ -0,0 +1,210 @@
+package us.talabrek.ultimateskyblock.handler;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import dk.lockfuglsang.minecraft.util.TimeUtil;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cache of the parsed schematics, so pasting an island doesn't read and decode the schematic file again.
+ * <p>
+ * A clipboard is reparsed when the modification time of its file changes. The clipboards are shared between pastes,
+ * which borrow them with {@link #acquire(File)}, must only read them while holding {@link Lease#getLock()}, and must
+ * close the lease once done. Replaced clipboards are closed when the last lease is closed. The schematics are loaded
+ * asynchronously on enable, and dropped on reload.
+ */
+@Singleton
+public class SchematicCache {
+    private final Logger logger;
+    private final Scheduler scheduler;
+    private final Path schematicDirectory;
+    private final Map<Path, CachedClipboard> clipboards = new HashMap<>();
+
+    @Inject
+    public SchematicCache(
+        @NotNull Logger logger,
+        @NotNull Scheduler scheduler,
+        @NotNull @PluginDataDir Path pluginDir
+    ) {
+        this.logger = logger;
+        this.scheduler = scheduler;
+        this.schematicDirectory = pluginDir.resolve("schematics");
+    }
+
+    /**
+     * Loads all schematics in the schematics folder asynchronously.
+     */
+    public void preload() {
+        if (!Bukkit.getPluginManager().isPluginEnabled("WorldEdit") || !Files.isDirectory(schematicDirectory)) {
+            return;
+        }
+        scheduler.async(() -> {
+            Instant start = Instant.now();
+            int loaded = 0;
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(schematicDirectory, "*.{schematic,schem}")) {
+                for (Path file : files) {
+                    try (Lease lease = acquire(file.toFile())) {
+                        if (lease != null) {
+                            loaded++;
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        logger.log(Level.WARNING, "Unable to load schematic " + file, e);
+                    }
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to list the schematics in " + schematicDirectory, e);
+            }
+            logger.info("Loaded " + loaded + " schematics in " + TimeUtil.durationAsString(Duration.between(start, Instant.now())));
+        });
+    }
+
+    /**
+     * Drops all clipboards, they are closed once no longer in use.
+     */
+    public void shutdown() {
+        List<CachedClipboard> dropped;
+        synchronized (this) {
+            dropped = new ArrayList<>(clipboards.values());
+            clipboards.clear();
+        }
+        dropped.forEach(this::evict);
+    }
+
+    /**
+     * Borrows the parsed schematic, which must be closed when done.
+     *
+     * @return The parsed schematic, or <code>null</code> if the file isn't a known schematic format.
+     * @throws IOException If the file can't be read.
+     */
+    public @Nullable Lease acquire(@NotNull File file) throws IOException {
+        Path path = file.toPath().toAbsolutePath();
+        long lastModified = Files.getLastModifiedTime(path).toMillis();
+        synchronized (this) {
+            CachedClipboard cached = clipboards.get(path);
+            if (cached != null && cached.lastModified == lastModified) {
+                cached.leases++;
+                return new Lease(cached);
+            }
+        }
+        ClipboardFormat format = ClipboardFormats.findByFile(file);
+        if (format == null) {
+            return null;
+        }
+        Clipboard clipboard;
+        try (InputStream in = Files.newInputStream(path)) {
+            clipboard = format.getReader(in).read();
+        }
+        CachedClipboard parsed = new CachedClipboard(lastModified, clipboard);
+        parsed.leases++;
+        CachedClipboard replaced;
+        synchronized (this) {
+            replaced = clipboards.put(path, parsed);
+        }
+        if (replaced != null) {
+            evict(replaced);
+        }
+        return new Lease(parsed);
+    }
+
+    private void evict(CachedClipboard cached) {
+        boolean unused;
+        synchronized (this) {
+            cached.evicted = true;
+            unused = cached.leases == 0;
+        }
+        if (unused) {
+            close(cached.clipboard);
+        }
+    }
+
+    private void release(CachedClipboard cached) {
+        boolean unused;
+        synchronized (this) {
+            cached.leases--;
+            unused = cached.evicted && cached.leases == 0;
+        }
+        if (unused) {
+            close(cached.clipboard);
+        }
+    }
+
+    private void close(Clipboard clipboard) {
+        // Only some clipboards hold resources, i.e. the disk-backed clipboards of FAWE
+        if (clipboard instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.log(Level.WARNING, "Unable to close schematic clipboard", e);
+            }
+        }
+    }
+
+    private static class CachedClipboard {
+        private final long lastModified;
+        private final Clipboard clipboard;
+        private final Lock lock = new ReentrantLock();
+        private int leases = 0;
+        private boolean evicted = false;
+
+        private CachedClipboard(long lastModified, Clipboard clipboard) {
+            this.lastModified = lastModified;
+            this.clipboard = clipboard;
+        }
+    }
+
+    /**
+     * A clipboard borrowed from the cache.
+     */
+    public class Lease implements AutoCloseable {
+        private final CachedClipboard cached;
+        private boolean closed = false;
+
+        private Lease(CachedClipboard cached) {
+            this.cached = cached;
+        }
+
+        public @NotNull Clipboard getClipboard() {
+            return cached.clipboard;
+        }
+
+        /**
+         * The lock that must be held while reading the clipboard, since not all clipboards can be read from several
+         * threads at once.
+         */
+        public @NotNull Lock getLock() {
+            return cached.lock;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(cached);
+            }
+        }
+    }
+}
@@ -3,18 +3,10 @@ package us.talabrek.ultimateskyblock.handler;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
-import com.sk89q.worldedit.extent.clipboard.Clipboard;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.function.mask.RegionMask;
-import com.sk89q.worldedit.function.operation.Operation;
-import com.sk89q.worldedit.function.operation.Operations;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.regions.Region;
-import com.sk89q.worldedit.session.ClipboardHolder;
-import com.sk89q.worldedit.util.SideEffectSet;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import dk.lockfuglsang.minecraft.util.Timer;
 import org.apache.commons.lang3.Validate;
@@ -25,14 +17,13 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.handler.task.WorldEditClear;
+import us.talabrek.ultimateskyblock.handler.task.WorldEditPaste;
 import us.talabrek.ultimateskyblock.player.PlayerPerk;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LogUtil;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -44,33 +35,41 @@ import java.util.logging.Logger;
 public class WorldEditHandler {
     private static final Logger log = Logger.getLogger(WorldEditHandler.class.getName());
 
-    public static void loadIslandSchematic(final File file, final Location origin, PlayerPerk playerPerk) {
+    /**
+     * Pastes the schematic incrementally on the main thread, see {@link WorldEditPaste}.
+     *
+     * @param onCompletion Called on the main thread once the schematic is pasted.
+     */
+    public static void loadIslandSchematic(final File file, final Location origin, PlayerPerk playerPerk, @Nullable Runnable onCompletion) {
         log.finer("Trying to load schematic " + file);
         if (file == null || !file.exists() || !file.canRead()) {
             LogUtil.log(Level.WARNING, "Unable to load schematic " + file);
+            runCompletion(onCompletion);
+            return;
         }
-        boolean noAir = false;
-        BlockVector3 to = BlockVector3.at(origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
-
-        try (EditSession editSession = WorldEdit.getInstance().newEditSessionBuilder()
-            .world(new BukkitWorld(origin.getWorld())).build()) {
-            editSession.setSideEffectApplier(SideEffectSet.none());
-            ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(origin);
-            if (region != null) {
-                editSession.setMask(new RegionMask(getRegion(origin.getWorld(), region)));
-            }
-            ClipboardFormat clipboardFormat = ClipboardFormats.findByFile(file);
-            try (InputStream in = new FileInputStream(file)) {
-                Clipboard clipboard = clipboardFormat.getReader(in).read();
-                Operation operation = new ClipboardHolder(clipboard)
-                    .createPaste(editSession)
-                    .to(to)
-                    .ignoreAirBlocks(noAir)
-                    .build();
-                Operations.completeBlindly(operation);
+        try {
+            SchematicCache.Lease schematic = uSkyBlock.getInstance().getSchematicCache().acquire(file);
+            if (schematic == null) {
+                LogUtil.log(Level.WARNING, "Unknown schematic format of " + file);
+                runCompletion(onCompletion);
+                return;
             }
+            ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(origin);
+            Region mask = region != null ? getRegion(origin.getWorld(), region) : null;
+            Timer timer = Timer.start();
+            new WorldEditPaste(uSkyBlock.getInstance(), schematic, origin, mask,
+                (pasted, total) -> log.finer("Pasted " + pasted + "/" + total + " slices of " + file.getName() + " in " + timer.elapsed()),
+                onCompletion
+            ).runTask(uSkyBlock.getInstance());
         } catch (IOException e) {
             log.log(Level.INFO, "Unable to paste schematic " + file, e);
+            runCompletion(onCompletion);
+        }
+    }
+
+    private static void runCompletion(@Nullable Runnable onCompletion) {
+        if (onCompletion != null) {
+            onCompletion.run();
         }
     }
 
@@ -86,6 +86,39 @@ public class WorldGuardHandler {
         return false;
     }
 
+    /**
+     * Protects an island that has no owner yet with locked regions, until it is claimed and
+     * {@link #updateRegion(IslandInfo)} replaces them.
+     */
+    public static boolean protectPooledIsland(String islandName, Location islandLocation) {
+        try {
+            uSkyBlock plugin = uSkyBlock.getInstance();
+            getRegionManager(plugin.getWorldManager().getWorld())
+                .addRegion(createPooledRegion(islandName + "island", islandLocation));
+            World netherWorld = plugin.getWorldManager().getNetherWorld();
+            if (netherWorld != null) {
+                getRegionManager(netherWorld).addRegion(createPooledRegion(islandName + "nether", islandLocation));
+            }
+            return true;
+        } catch (Exception e) {
+            LogUtil.log(Level.SEVERE, "ERROR: Failed to protect the pooled island " + islandName, e);
+            return false;
+        }
+    }
+
+    private static ProtectedCuboidRegion createPooledRegion(String regionName, Location islandLocation) {
+        BlockVector3 minPoint = getProtectionVectorRight(islandLocation);
+        BlockVector3 maxPoint = getProtectionVectorLeft(islandLocation);
+        if (regionName.endsWith("nether")) {
+            minPoint = minPoint.withY(6);
+            maxPoint = maxPoint.withY(120);
+        }
+        ProtectedCuboidRegion region = new ProtectedCuboidRegion(regionName, minPoint, maxPoint);
+        region.setPriority(100);
+        updateLockStatus(region, true);
+        return region;
+    }
+
     private static String getVersion() {
         return VERSION + " " + I18nUtil.getLocale();
     }
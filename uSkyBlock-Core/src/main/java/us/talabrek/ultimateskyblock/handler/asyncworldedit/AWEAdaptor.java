@@ -20,7 +20,11 @@ public interface AWEAdaptor {
 
     void onDisable(uSkyBlock plugin);
 
-    void loadIslandSchematic(File file, Location origin, @Nullable PlayerPerk playerPerk);
+    /**
+     * @param onCompletion Called on the main thread once the schematic is pasted.
+     */
+    void loadIslandSchematic(File file, Location origin, @Nullable PlayerPerk playerPerk, @Nullable Runnable onCompletion);
+
     void registerCompletion(Player player);
 
     EditSession createEditSession(World world, int maxBlocks);
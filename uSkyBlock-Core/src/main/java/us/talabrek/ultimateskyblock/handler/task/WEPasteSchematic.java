@@ -14,15 +14,17 @@ public class WEPasteSchematic extends BukkitRunnable {
     private final File file;
     private final Location origin;
     private final PlayerPerk playerPerk;
+    private final Runnable onCompletion;
 
-    public WEPasteSchematic(File file, Location origin, PlayerPerk playerPerk) {
+    public WEPasteSchematic(File file, Location origin, PlayerPerk playerPerk, Runnable onCompletion) {
         this.file = file;
         this.origin = origin;
         this.playerPerk = playerPerk;
+        this.onCompletion = onCompletion;
     }
 
     @Override
     public void run() {
-        AsyncWorldEditHandler.getAWEAdaptor().loadIslandSchematic(file, origin, playerPerk);
+        AsyncWorldEditHandler.getAWEAdaptor().loadIslandSchematic(file, origin, playerPerk, onCompletion);
     }
 }
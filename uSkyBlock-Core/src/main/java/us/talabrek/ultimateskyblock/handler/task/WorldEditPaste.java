@@ -0,0 +1,199 @@
+package us.talabrek.ultimateskyblock.handler.task;
+
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitWorld;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.function.mask.RegionMask;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
+import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.math.BlockVector2;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.util.SideEffectSet;
+import io.papermc.lib.PaperLib;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
+import us.talabrek.ultimateskyblock.handler.SchematicCache;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Incremental task for pasting a schematic on the main thread.
+ * <p>
+ * The target chunks are first loaded asynchronously, and kept loaded by a plugin chunk ticket until the paste is
+ * complete. The clipboard is then pasted one chunk column at a time, as many columns per run as the time budget
+ * allows. The chunk tickets and the borrowed schematic are released when the paste is complete or cancelled.
+ */
+public class WorldEditPaste extends IncrementalRunnable {
+    private static final Logger log = Logger.getLogger(WorldEditPaste.class.getName());
+    private static final Set<WorldEditPaste> active = ConcurrentHashMap.newKeySet();
+
+    private final uSkyBlock plugin;
+    private final World world;
+    private final SchematicCache.Lease schematic;
+    private final Clipboard clipboard;
+    private final BlockVector3 to;
+    private final Region mask;
+    private final BiConsumer<Integer, Integer> onProgress;
+    private final Queue<Region> slices = new ArrayDeque<>();
+    private final int sliceCount;
+    private final List<BlockVector2> chunks = new ArrayList<>();
+    private final Map<BlockVector2, CompletableFuture<Chunk>> loading = new LinkedHashMap<>();
+    private final List<Chunk> ticketed = new ArrayList<>();
+    private boolean loadRequested = false;
+    private boolean released = false;
+
+    /**
+     * @param mask       Only blocks inside this region are pasted, if given.
+     * @param onProgress Called with the number of pasted slices and the total number of slices after each run.
+     */
+    public WorldEditPaste(@NotNull uSkyBlock plugin, @NotNull SchematicCache.Lease schematic, @NotNull Location origin, @Nullable Region mask,
+                          @Nullable BiConsumer<Integer, Integer> onProgress, @Nullable Runnable onCompletion) {
+        super(plugin.getScheduler(), plugin.getPluginConfig(), onCompletion);
+        this.plugin = plugin;
+        this.world = origin.getWorld();
+        this.schematic = schematic;
+        this.clipboard = schematic.getClipboard();
+        this.to = BlockVector3.at(origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+        this.mask = mask;
+        this.onProgress = onProgress;
+        createSlices();
+        sliceCount = slices.size();
+        active.add(this);
+    }
+
+    /**
+     * Cancels all pastes in progress, i.e. because the plugin is reloaded and their tasks are cancelled.
+     */
+    public static void cancelAll() {
+        new ArrayList<>(active).forEach(WorldEditPaste::cancel);
+    }
+
+    /**
+     * Splits the clipboard into the parts landing in each target chunk, in clipboard coordinates.
+     */
+    private void createSlices() {
+        BlockVector3 offset = to.subtract(clipboard.getOrigin());
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        for (int chunkX = (min.getBlockX() + offset.getBlockX()) >> 4; chunkX <= (max.getBlockX() + offset.getBlockX()) >> 4; chunkX++) {
+            for (int chunkZ = (min.getBlockZ() + offset.getBlockZ()) >> 4; chunkZ <= (max.getBlockZ() + offset.getBlockZ()) >> 4; chunkZ++) {
+                BlockVector3 sliceMin = BlockVector3.at(
+                    Math.max(min.getBlockX(), (chunkX << 4) - offset.getBlockX()),
+                    min.getBlockY(),
+                    Math.max(min.getBlockZ(), (chunkZ << 4) - offset.getBlockZ()));
+                BlockVector3 sliceMax = BlockVector3.at(
+                    Math.min(max.getBlockX(), (chunkX << 4) + 15 - offset.getBlockX()),
+                    max.getBlockY(),
+                    Math.min(max.getBlockZ(), (chunkZ << 4) + 15 - offset.getBlockZ()));
+                slices.add(new CuboidRegion(sliceMin, sliceMax));
+                chunks.add(BlockVector2.at(chunkX, chunkZ));
+            }
+        }
+    }
+
+    @Override
+    protected boolean execute() {
+        if (released) {
+            return true;
+        }
+        if (!chunksLoaded()) {
+            return false;
+        }
+        while (!slices.isEmpty()) {
+            pasteSlice(slices.poll());
+            if (!tick()) {
+                break;
+            }
+        }
+        if (onProgress != null) {
+            onProgress.accept(sliceCount - slices.size(), sliceCount);
+        }
+        if (slices.isEmpty()) {
+            release();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void cancel() {
+        super.cancel();
+        release();
+    }
+
+    private void release() {
+        released = true;
+        ticketed.forEach(chunk -> chunk.removePluginChunkTicket(plugin));
+        ticketed.clear();
+        schematic.close();
+        active.remove(this);
+    }
+
+    /**
+     * Requests the target chunks asynchronously on the first run, and tickets the ones that finished loading.
+     *
+     * @return <code>true</code> when all target chunks are loaded.
+     */
+    private boolean chunksLoaded() {
+        if (!loadRequested) {
+            loadRequested = true;
+            for (BlockVector2 chunk : chunks) {
+                loading.put(chunk, PaperLib.getChunkAtAsync(world, chunk.getBlockX(), chunk.getBlockZ(), true));
+            }
+        }
+        Iterator<Map.Entry<BlockVector2, CompletableFuture<Chunk>>> it = loading.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<BlockVector2, CompletableFuture<Chunk>> entry = it.next();
+            CompletableFuture<Chunk> future = entry.getValue();
+            if (!future.isDone()) {
+                continue;
+            }
+            it.remove();
+            Chunk chunk = future.isCompletedExceptionally() ? null : future.join();
+            if (chunk != null && chunk.addPluginChunkTicket(plugin)) {
+                ticketed.add(chunk);
+            } else if (chunk == null) {
+                // WorldEdit loads it when pasting
+                log.log(Level.FINE, "Unable to preload chunk " + entry.getKey() + " for pasting");
+            }
+        }
+        return loading.isEmpty();
+    }
+
+    private void pasteSlice(Region slice) {
+        schematic.getLock().lock();
+        try (EditSession editSession = WorldEdit.getInstance().newEditSessionBuilder()
+            .world(new BukkitWorld(world)).build()) {
+            editSession.setSideEffectApplier(SideEffectSet.none());
+            if (mask != null) {
+                editSession.setMask(new RegionMask(mask));
+            }
+            Operations.complete(new ForwardExtentCopy(clipboard, slice, clipboard.getOrigin(), editSession, to));
+        } catch (WorldEditException e) {
+            log.log(Level.WARNING, "Unable to paste " + slice + " at " + to, e);
+        } finally {
+            schematic.getLock().unlock();
+        }
+    }
+}
@@ -8,7 +8,9 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.api.model.BlockScore;
+import us.talabrek.ultimateskyblock.island.level.IncrementalLevelTracker;
 import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -26,12 +28,15 @@ public class BlockLimitLogic {
     private final Map<Location, Map<Material, Integer>> blockCounts = new HashMap<>();
 
     private final boolean limitsEnabled;
+    private final IncrementalLevelTracker levelTracker;
 
     @Inject
     public BlockLimitLogic(
         @NotNull PluginConfig config,
-        @NotNull Logger logger
+        @NotNull Logger logger,
+        @NotNull IncrementalLevelTracker levelTracker
     ) {
+        this.levelTracker = levelTracker;
         limitsEnabled = config.getYamlConfig().getBoolean("options.island.block-limits.enabled", false);
         if (limitsEnabled) {
             ConfigurationSection section = config.getYamlConfig().getConfigurationSection("options.island.block-limits");
@@ -82,6 +87,10 @@ public class BlockLimitLogic {
         if (!limitsEnabled || !blockLimits.containsKey(type)) {
             return -1;
         }
+        long liveCount = levelTracker.getCount(LocationUtil.getIslandName(islandLocation), type);
+        if (liveCount >= 0) {
+            return (int) Math.min(liveCount, Integer.MAX_VALUE);
+        }
         Map<Material, Integer> islandCount = blockCounts.getOrDefault(islandLocation, null);
         if (islandCount == null) {
             return -2;
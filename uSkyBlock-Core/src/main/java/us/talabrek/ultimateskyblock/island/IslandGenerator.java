@@ -88,12 +88,13 @@ public class IslandGenerator {
     /**
      * Generate an island at the given {@link Location}.
      *
-     * @param playerPerk PlayerPerk object for the island owner.
+     * @param playerPerk PlayerPerk object for the island owner, or null for an island without an owner yet.
      * @param next       Location to generate an island.
      * @param cSchem     New island schematic.
+     * @param onCompletion Called on the main thread once the island is pasted, if it was generated.
      * @return True if the island was generated, false otherwise.
      */
-    public boolean createIsland(@NotNull PlayerPerk playerPerk, @NotNull Location next, @Nullable String cSchem) {
+    public boolean createIsland(@Nullable PlayerPerk playerPerk, @NotNull Location next, @Nullable String cSchem, @Nullable Runnable onCompletion) {
         // Hacky, but clear the Orphan info
         next.setYaw(0);
         next.setPitch(0);
@@ -104,7 +105,7 @@ public class IslandGenerator {
             netherFile = netherSchematic;
         }
         if (schemFile.exists() && Bukkit.getServer().getPluginManager().isPluginEnabled("WorldEdit")) {
-            AsyncWorldEditHandler.loadIslandSchematic(schemFile, next, playerPerk);
+            AsyncWorldEditHandler.loadIslandSchematic(schemFile, next, playerPerk, onCompletion);
             World skyBlockNetherWorld = uSkyBlock.getInstance().getWorldManager().getNetherWorld();
             if (skyBlockNetherWorld != null) {
                 Location netherHome = new Location(skyBlockNetherWorld, next.getBlockX(), Settings.nether_height, next.getBlockZ());
@@ -24,33 +24,30 @@ import us.talabrek.ultimateskyblock.api.event.island.IslandUntrustPlayerEvent;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.player.Perk;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
-import us.talabrek.ultimateskyblock.util.LogUtil;
 import us.talabrek.ultimateskyblock.util.UUIDUtil;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static dk.lockfuglsang.minecraft.file.FileUtil.readConfig;
 import static dk.lockfuglsang.minecraft.po.I18nUtil.marktr;
 import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 
@@ -63,22 +60,27 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     private static final int YML_VERSION = 3;
 
     private final uSkyBlock plugin;
-    private File file;
+    private final DocumentStore store;
+    private final WriteBehindQueue writer;
     private FileConfiguration config;
+    private IslandParty party;
     private final String name;
-    private boolean dirty = false;
-    private boolean toBeDeleted = false;
+    private volatile boolean stored;
+    private volatile boolean dirty = false;
+    private volatile boolean toBeDeleted = false;
 
-    public IslandInfo(@NotNull String islandName, @NotNull uSkyBlock plugin, @NotNull Path islandDirectory) {
+    public IslandInfo(@NotNull String islandName, @NotNull uSkyBlock plugin, @NotNull DocumentStore store, @NotNull WriteBehindQueue writer) {
         Validate.notNull(islandName, "IslandName cannot be null");
         Validate.notEmpty(islandName, "IslandName cannot be empty");
 
         this.plugin = plugin;
+        this.store = store;
+        this.writer = writer;
         config = new YamlConfiguration();
-        file = islandDirectory.resolve(islandName + ".yml").toFile();
         name = islandName;
-        if (file.exists()) {
-            readConfig(config, file);
+        stored = store.load(DocumentKind.ISLAND, islandName, config);
+        party = IslandParty.parse(name, config);
+        if (stored) {
             if (config.getInt("version", 0) < YML_VERSION || config.contains("maxSize")) {
                 updateConfig();
             }
@@ -88,7 +90,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     }
 
     public boolean exists() {
-        return this.file.exists();
+        return stored;
     }
 
     // TODO: Move to a separate class to prevent having a huge method here when new config versions are added?
@@ -111,7 +113,11 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         if (currentVersion < 1) {
             // add ban-info to the individual player-configs.
             for (String banned : config.getStringList("banned.list")) {
-                banPlayerInfo(plugin.getPlayerDB().getUUIDFromName(banned));
+                UUID bannedId = plugin.getPlayerDB().getUUIDFromName(banned);
+                if (bannedId != null) {
+                    party.addBan(bannedId);
+                    banPlayerInfo(bannedId);
+                }
             }
             config.set("version", 1);
         }
@@ -130,6 +136,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         config.set("blocks.leafBreaks", 0);
         config.set("version", YML_VERSION);
         config.set("party", null);
+        party.clearMembers();
         config.set("general.scoreMultiply", null);
         config.set("general.scoreOffset", null);
         config.set("blocks.hopperCount", 0);
@@ -142,18 +149,13 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         Validate.notEmpty(leader, "Leader cannot be empty");
 
         UUID uuid = plugin.getPlayerDB().getUUIDFromName(leader);
-        String uuidString = UUIDUtil.asString(uuid);
-        config.set("party.leader", leader);
-        config.set("party.leader-uuid", uuidString);
-        ConfigurationSection section = config.createSection("party.members." + uuidString);
-        section.set("canChangeBiome", true);
-        section.set("canToggleLock", true);
-        section.set("canChangeWarp", true);
-        section.set("canToggleWarp", true);
-        section.set("canInviteOthers", true);
-        section.set("canKickOthers", true);
-        section.set("canBanOthers", true);
-        config.set("party.currentSize", getMembers().size());
+        party.setLeader(leader, uuid);
+        if (uuid != null) {
+            // Resets the perk limits of the member section
+            config.createSection("party.members." + uuid);
+            IslandParty.Member member = party.getMember(uuid);
+            party.putMember(uuid, new IslandParty.Member(member != null ? member.name() : null, IslandParty.ALL_PERMISSIONS));
+        }
 
         Player onlinePlayer = plugin.getPlayerDB().getPlayer(uuid);
         // The only time the onlinePlayer will be null is if it is being converted from another skyblock plugin.
@@ -161,6 +163,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
             updatePermissionPerks(onlinePlayer, plugin.getPerkLogic().getPerk(onlinePlayer));
         }
         save();
+        updateRankIndex();
     }
 
     public void addMember(@NotNull final PlayerInfo playerInfo) {
@@ -174,18 +177,9 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     public void setupPartyMember(@NotNull final PlayerInfo member) {
         Validate.notNull(member, "Member cannot be null");
 
-        if (!getMemberUUIDs().contains(member.getUniqueId())) {
-            config.set("party.currentSize", config.getInt("party.currentSize") + 1);
-        }
-        ConfigurationSection section = config.createSection("party.members." + UUIDUtil.asString(member.getUniqueId()));
-        section.set("name", member.getPlayerName());
-        section.set("canChangeBiome", false);
-        section.set("canToggleLock", false);
-        section.set("canChangeWarp", false);
-        section.set("canToggleWarp", false);
-        section.set("canInviteOthers", false);
-        section.set("canKickOthers", false);
-        section.set("canBanOthers", false);
+        // Resets the perk limits of the member section
+        config.createSection("party.members." + UUIDUtil.asString(member.getUniqueId()));
+        party.putMember(member.getUniqueId(), new IslandParty.Member(member.getPlayerName(), 0));
 
         Player onlinePlayer = member.getPlayer();
         // The only time the onlinePlayer will be null is if it is being converted from another skyblock plugin.
@@ -194,6 +188,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         }
         WorldGuardHandler.updateRegion(this);
         save();
+        updateRankIndex();
     }
 
     public void updatePermissionPerks(@NotNull final Player member, @NotNull Perk perk) {
@@ -203,13 +198,20 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         boolean updateRegion = false;
         if (isLeader(member)) {
             String oldLeaderName = getLeader();
-            config.set("party.leader", member.getName());
+            party.setLeaderName(member.getName());
             updateRegion = !oldLeaderName.equals(member.getName());
         }
-        ConfigurationSection section = config.getConfigurationSection("party.members." + member.getUniqueId());
+        IslandParty.Member partyMember = party.getMember(member.getUniqueId());
         boolean dirty = false;
-        if (section != null) {
-            section.set("name", member.getName());
+        if (partyMember != null) {
+            if (!member.getName().equals(partyMember.name())) {
+                party.putMember(member.getUniqueId(), partyMember.withName(member.getName()));
+                dirty = true;
+            }
+            ConfigurationSection section = config.getConfigurationSection("party.members." + member.getUniqueId());
+            if (section == null) {
+                section = config.createSection("party.members." + member.getUniqueId());
+            }
             int maxParty = section.getInt("maxPartySizePermission", Settings.general_maxPartySize);
             if (perk.getMaxPartySize() != maxParty) {
                 section.set("maxPartySizePermission", perk.getMaxPartySize());
@@ -256,31 +258,63 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     }
 
     public void save() {
-        dirty = true;
-        if (!file.exists()) {
+        if (!stored) {
+            dirty = true;
             saveToFile(); // We use the file-existense a lot, so we need to touch it!
+        } else {
+            markDirty();
         }
     }
 
+    private void markDirty() {
+        dirty = true;
+        enqueueSave();
+    }
+
     public boolean isDirty() {
         return dirty || toBeDeleted;
     }
 
-    public void saveToFile() {
+    /**
+     * Schedules the write of the island, replacing any pending write. The island is serialized on the calling thread,
+     * so the writer never reads the config while it is being changed.
+     */
+    public void enqueueSave() {
         if (toBeDeleted) {
-            log.fine("Deleting islandconfig: " + file);
-            file.delete();
-            toBeDeleted = false;
+            writer.enqueue(DocumentKind.ISLAND, name, this::deleteDocument);
         } else if (dirty) {
-            try {
-                log.fine("Saving island-config: " + file);
-                config.save(file);
-            } catch (IOException e) {
-                LogUtil.log(Level.SEVERE, "Unable to save island " + file, e);
-            }
+            dirty = false;
+            party.writeTo(config);
+            String data = config.saveToString();
+            writer.enqueue(DocumentKind.ISLAND, name, () -> writeDocument(data), () -> stored = true);
+        }
+    }
+
+    /**
+     * Writes the island on the calling thread.
+     */
+    public void saveToFile() {
+        enqueueSave();
+        writer.writeNow(DocumentKind.ISLAND, name);
+    }
+
+    private void writeDocument(String data) {
+        try {
+            log.fine("Saving island-config: " + name);
+            store.save(DocumentKind.ISLAND, name, data);
+        } catch (IOException e) {
+            // The writer keeps the write pending, and retries it
+            throw new IllegalStateException("Unable to save island " + name, e);
         }
     }
 
+    private void deleteDocument() {
+        log.fine("Deleting islandconfig: " + name);
+        store.delete(DocumentKind.ISLAND, name);
+        stored = false;
+        toBeDeleted = false;
+    }
+
     @Override
     public int getMaxPartySize() {
         return getMaxPartyIntValue("maxPartySizePermission",
@@ -317,8 +351,8 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         Map<Material, Integer> blockLimitMap = new HashMap<>();
         ConfigurationSection membersSection = config.getConfigurationSection("party.members");
         if (membersSection != null) {
-            for (String memberName : membersSection.getKeys(false)) {
-                ConfigurationSection memberSection = membersSection.getConfigurationSection(memberName);
+            for (UUID memberId : party.getMemberIds()) {
+                ConfigurationSection memberSection = membersSection.getConfigurationSection(memberId.toString());
                 if (memberSection != null) {
                     if (memberSection.isConfigurationSection("blockLimits")) {
                         ConfigurationSection blockLimits = memberSection.getConfigurationSection("blockLimits");
@@ -343,8 +377,8 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         int value = defaultValue;
         ConfigurationSection membersSection = config.getConfigurationSection("party.members");
         if (membersSection != null) {
-            for (String memberName : membersSection.getKeys(false)) {
-                ConfigurationSection memberSection = membersSection.getConfigurationSection(memberName);
+            for (UUID memberId : party.getMemberIds()) {
+                ConfigurationSection memberSection = membersSection.getConfigurationSection(memberId.toString());
                 if (memberSection != null) {
                     if (memberSection.isInt(name)) {
                         int memberValue = memberSection.getInt(name, value);
@@ -360,20 +394,19 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     @Override
     public String getLeader() {
-        return config.getString("party.leader", "");
+        return party.getLeaderName();
     }
 
     public UUID getLeaderUniqueId() {
-        String uuidStr = config.getString("party.leader-uuid", null);
-        if (uuidStr == null) {
-            UUID uuid = plugin.getPlayerDB().getUUIDFromName(getLeader());
+        UUID uuid = party.getLeaderId();
+        if (uuid == null) {
+            uuid = plugin.getPlayerDB().getUUIDFromName(getLeader());
             if (uuid != null) {
-                uuidStr = uuid.toString();
-                config.set("party.leader-uuid", uuidStr);
-                dirty = true;
+                party.setLeaderId(uuid);
+                markDirty();
             }
         }
-        return UUIDUtil.fromString(uuidStr);
+        return uuid;
     }
 
     public boolean hasPerm(Player player, String perm) {
@@ -385,7 +418,14 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     }
 
     public boolean hasPerm(UUID uuid, String perm) {
-        return uuid.equals(getLeaderUniqueId()) || config.getBoolean("party.members." + UUIDUtil.asString(uuid) + "." + perm);
+        if (uuid == null) {
+            return false;
+        }
+        if (uuid.equals(getLeaderUniqueId())) {
+            return true;
+        }
+        IslandParty.Member member = party.getMember(uuid);
+        return member != null && member.hasPermission(IslandParty.getPermissionBit(perm));
     }
 
     @Override
@@ -439,77 +479,60 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         Validate.notNull(perm, "Perm cannot be null");
         Validate.notEmpty(perm, "Perm cannot be empty");
 
-        String uuidString = UUIDUtil.asString(playerId);
-        ConfigurationSection memberSection = config.getConfigurationSection("party.members." + uuidString);
-        try {
-            if (memberSection == null) {
-                log.info("Perms for " + playerId + " failed to toggle because player is not a part of that island!");
-                return false;
-            }
-            if (memberSection.getBoolean(perm, false)) {
-                memberSection.set(perm, false);
-            } else {
-                memberSection.set(perm, true);
-            }
-            save();
-            return true;
-        } catch (NullPointerException e) {
+        IslandParty.Member member = party.getMember(playerId);
+        if (member == null) {
             log.info("Perms for " + playerId + " failed to toggle because player is not a part of that island!");
             return false;
         }
+        int bit = IslandParty.getPermissionBit(perm);
+        if (bit == 0) {
+            log.info("Perms for " + playerId + " failed to toggle because " + perm + " is not a party permission!");
+            return false;
+        }
+        party.putMember(playerId, member.withPermissions(member.permissions() ^ bit));
+        save();
+        return true;
     }
 
     @Override
     @NotNull
     public Set<String> getMembers() {
-        ConfigurationSection memberSection = config.getConfigurationSection("party.members");
         Set<String> members = new LinkedHashSet<>();
-        if (memberSection != null) {
-            for (String uuid : memberSection.getKeys(false)) {
-                UUID id = UUIDUtil.fromString(uuid);
-                if (id != null) {
-                    String nm = plugin.getPlayerDB().getName(id);
-                    if (nm != null) {
-                        members.add(nm);
-                    } else {
-                        log.info("Island " + name + " has unknown member-section " + uuid);
-                        // Remove broken UUID from island file
-                        config.set("party.members." + uuid, null);
-                        config.set("party.currentSize", getPartySize() - 1);
-                        save();
-                    }
+        for (Map.Entry<UUID, IslandParty.Member> entry : party.getMembers().entrySet()) {
+            String memberName = entry.getValue().name();
+            if (memberName == null) {
+                memberName = plugin.getPlayerDB().getName(entry.getKey());
+                if (memberName != null) {
+                    party.putMember(entry.getKey(), entry.getValue().withName(memberName));
                 } else {
-                    log.info("Island " + name + " has invalid member-section " + uuid);
+                    log.info("Island " + name + " has unknown member-section " + entry.getKey());
+                    // Remove broken UUID from island file
+                    party.removeMember(entry.getKey());
+                    save();
+                    continue;
                 }
             }
+            members.add(memberName);
         }
         return members;
     }
 
+    /**
+     * @return The uuids of the members, a snapshot that isn't changed when members are added or removed.
+     */
     @NotNull
     public Set<UUID> getMemberUUIDs() {
-        ConfigurationSection memberSection = config.getConfigurationSection("party.members");
-        Set<UUID> members = new HashSet<>();
-        if (memberSection != null) {
-            for (String uuid : memberSection.getKeys(false)) {
-                try {
-                    UUID id = UUIDUtil.fromString(uuid);
-                    if (id == null) {
-                        throw new IllegalArgumentException();
-                    }
-                    members.add(id);
-                } catch (IllegalArgumentException e) {
-                    log.info("Island " + name + " has invalid member-section " + uuid);
-                }
-            }
-        }
-        return members;
+        return party.getMemberIds();
     }
 
     public boolean isMember(@NotNull OfflinePlayer target) {
         Validate.notNull(target, "Target cannot be null");
 
-        return getMemberUUIDs().contains(target.getUniqueId());
+        return isMember(target.getUniqueId());
+    }
+
+    public boolean isMember(@NotNull UUID playerId) {
+        return party.isMember(playerId);
     }
 
     public void log(@NotNull String message, @Nullable Object[] args) {
@@ -536,7 +559,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     @Override
     public int getPartySize() {
-        return config.getInt("party.currentSize", 1);
+        return party.getMembers().size();
     }
 
     public boolean isLeader(@NotNull OfflinePlayer target) {
@@ -551,11 +574,11 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     }
 
     public boolean isLeader(String playerName) {
-        return getLeaderUniqueId().equals(plugin.getPlayerDB().getUUIDFromName(playerName));
+        return isLeader(plugin.getPlayerDB().getUUIDFromName(playerName));
     }
 
-    public boolean isLeader(@NotNull UUID playerId) {
-        return getLeaderUniqueId().equals(playerId);
+    public boolean isLeader(@Nullable UUID playerId) {
+        return playerId != null && playerId.equals(getLeaderUniqueId());
     }
 
     public boolean hasWarp() {
@@ -660,7 +683,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     }
 
     public boolean isBanned(UUID uuid) {
-        return config.getStringList("banned.list").contains(UUIDUtil.asString(uuid));
+        return uuid != null && party.getBans().contains(uuid);
     }
 
     @Override
@@ -684,11 +707,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
             return false;
         }
 
-        List<String> stringList = config.getStringList("banned.list");
-        if (!stringList.contains(target.getUniqueId().toString())) {
-            stringList.add(target.getUniqueId().toString());
-        }
-        config.set("banned.list", stringList);
+        party.addBan(target.getUniqueId());
         save();
         banPlayerInfo(target.getUniqueId());
         return true;
@@ -715,11 +734,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
             return false;
         }
 
-        List<String> stringList = config.getStringList("banned.list");
-        while (stringList.contains(target.getUniqueId().toString())) {
-            stringList.remove(target.getUniqueId().toString());
-        }
-        config.set("banned.list", stringList);
+        party.removeBan(target.getUniqueId());
         save();
         unbanPlayerInfo(target.getUniqueId());
         return true;
@@ -729,12 +744,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     public void banPlayer(@NotNull UUID uuid) {
         Validate.notNull(uuid, "Uuid cannot be null");
 
-        String uuidString = UUIDUtil.asString(uuid);
-        List<String> stringList = config.getStringList("banned.list");
-        if (!stringList.contains(uuidString)) {
-            stringList.add(uuidString);
-        }
-        config.set("banned.list", stringList);
+        party.addBan(uuid);
         save();
         banPlayerInfo(uuid);
     }
@@ -760,16 +770,9 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     @Override
     @NotNull
     public List<String> getBans() {
-        List<String> uuidList = config.getStringList("banned.list");
         List<String> nameList = new ArrayList<>();
-        for (String uuid : uuidList) {
-            UUID id = UUIDUtil.fromString(uuid);
-            if (id != null) {
-                String name = plugin.getPlayerDB().getName(id);
-                nameList.add(name);
-            } else {
-                log.info("Island " + name + " has invalid ban-value " + uuid);
-            }
+        for (UUID id : party.getBans()) {
+            nameList.add(plugin.getPlayerDB().getName(id));
         }
         return nameList;
     }
@@ -778,32 +781,16 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     @Override
     @NotNull
     public List<String> getTrustees() {
-        List<String> uuidList = config.getStringList("trust.list");
         List<String> nameList = new ArrayList<>();
-        for (String uuid : uuidList) {
-            UUID id = UUIDUtil.fromString(uuid);
-            if (id != null) {
-                nameList.add(plugin.getPlayerDB().getName(id));
-            } else {
-                log.info("Island " + name + " has invalid trustee-value " + uuid);
-            }
+        for (UUID id : party.getTrustees()) {
+            nameList.add(plugin.getPlayerDB().getName(id));
         }
         return nameList;
     }
 
     @NotNull
     public List<UUID> getTrusteeUUIDs() {
-        List<String> list = config.getStringList("trust.list");
-        List<UUID> uuidList = new ArrayList<>();
-        for (String uuid : list) {
-            UUID id = UUIDUtil.fromString(uuid);
-            if (id != null) {
-                uuidList.add(id);
-            } else {
-                log.info("Island " + name + " has invalid trustee-value " + uuid);
-            }
-        }
-        return uuidList;
+        return new ArrayList<>(party.getTrustees());
     }
 
     @Override
@@ -827,11 +814,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
             return false;
         }
 
-        List<String> trustees = config.getStringList("trust.list");
-        if (!trustees.contains(target.getUniqueId().toString())) {
-            trustees.add(target.getUniqueId().toString());
-            config.set("trust.list", trustees);
-        }
+        party.addTrustee(target.getUniqueId());
         PlayerInfo playerInfo = plugin.getPlayerInfo(target.getUniqueId());
         if (playerInfo != null) {
             playerInfo.removeTrust(this.name);
@@ -861,9 +844,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
             return false;
         }
 
-        List<String> trustees = config.getStringList("trust.list");
-        trustees.remove(target.getUniqueId().toString());
-        config.set("trust.list", trustees);
+        party.removeTrustee(target.getUniqueId());
         PlayerInfo playerInfo = plugin.getPlayerInfo(target.getUniqueId());
         if (playerInfo != null) {
             playerInfo.removeTrust(this.name);
@@ -876,8 +857,11 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
     public boolean isTrusted(@NotNull OfflinePlayer target) {
         Validate.notNull(target, "Target cannot be null");
 
-        List<String> trustees = config.getStringList("trust.list");
-        return trustees.contains(target.getUniqueId().toString());
+        return isTrusted(target.getUniqueId());
+    }
+
+    public boolean isTrusted(@NotNull UUID playerId) {
+        return party.getTrustees().contains(playerId);
     }
 
     public void removeMember(@NotNull PlayerInfo member) {
@@ -886,18 +870,23 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         member.setHomeLocation(null);
         member.removeFromIsland();
         member.save();
-        config.set("party.members." + UUIDUtil.asString(member.getUniqueId()), null);
-        config.set("party.currentSize", getPartySize() - 1);
+        party.removeMember(member.getUniqueId());
 
         sendMessageToIslandGroup(true, marktr("\u00a7b{0}\u00a7d has been removed from the island group."), member.getPlayerName());
         WorldGuardHandler.updateRegion(this);
         plugin.getEventLogic().fireMemberLeftEvent(this, member);
         save();
+        updateRankIndex();
     }
 
     public void setLevel(double score) {
         config.set("general.level", score);
         save();
+        updateRankIndex();
+    }
+
+    private void updateRankIndex() {
+        plugin.getIslandLogic().getRankIndex().update(this);
     }
 
     @Override
@@ -1022,18 +1011,9 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     @Override
     public boolean hasOnlineMembers() {
-        ConfigurationSection members = config.getConfigurationSection("party.members");
-        if (members != null) {
-            for (String uuid : members.getKeys(false)) {
-                if (uuid != null) {
-                    UUID id = UUIDUtil.fromString(uuid);
-                    if (id != null) {
-                        Player onlinePlayer = plugin.getPlayerDB().getPlayer(id);
-                        if (onlinePlayer != null) {
-                            return true;
-                        }
-                    }
-                }
+        for (UUID id : party.getMemberIds()) {
+            if (plugin.getPlayerDB().getPlayer(id) != null) {
+                return true;
             }
         }
         return false;
@@ -1041,23 +1021,11 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     @Override
     public List<Player> getOnlineMembers() {
-        ConfigurationSection members = config.getConfigurationSection("party.members");
         List<Player> players = new ArrayList<>();
-        if (members != null) {
-            for (String uuid : members.getKeys(false)) {
-                if (uuid != null) {
-                    UUID id = UUIDUtil.fromString(uuid);
-                    if (id != null) {
-                        Player onlinePlayer = plugin.getPlayerDB().getPlayer(id);
-                        if (onlinePlayer != null) {
-                            players.add(onlinePlayer);
-                        }
-                    } else {
-                        log.info("Island " + name + " has invalid member-section: " + uuid);
-                    }
-                } else {
-                    log.info("Island " + name + " has invalid member-section: " + uuid);
-                }
+        for (UUID id : party.getMemberIds()) {
+            Player onlinePlayer = plugin.getPlayerDB().getPlayer(id);
+            if (onlinePlayer != null) {
+                players.add(onlinePlayer);
             }
         }
         return players;
@@ -1077,6 +1045,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     public void delete() {
         toBeDeleted = true;
+        enqueueSave();
     }
 
     public boolean ignore() {
@@ -1085,7 +1054,8 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     public void setIgnore(boolean b) {
         config.set("general.ignore", b);
-        dirty = true;
+        markDirty();
+        updateRankIndex();
     }
 
     public int getLeafBreaks() {
@@ -1094,7 +1064,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     public void setLeafBreaks(int breaks) {
         config.set("blocks.leafBreaks", breaks);
-        dirty = true;
+        markDirty();
     }
 
     public int getHopperLimit() {
@@ -1103,7 +1073,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     public void setHopperLimit(int limit) {
         config.set("blocks.hopperLimits", limit);
-        dirty = true;
+        markDirty();
     }
 
     @Override
@@ -1113,7 +1083,7 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
 
     public void setSchematicName(String schematicName) {
         config.set("general.schematicName", schematicName);
-        dirty = true;
+        markDirty();
     }
 
     @Override
@@ -1145,15 +1115,6 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
         save();
     }
 
-    /**
-     * If you need to inject a custom {@link File} for e.g. unit tests, do it here.
-     *
-     * @param file Custom File
-     */
-    public void setFile(File file) {
-        this.file = file;
-    }
-
     /**
      * If you need to inject a custom {@link FileConfiguration} for e.g. unit tests, do it here.
      *
@@ -1161,5 +1122,6 @@ public class IslandInfo implements us.talabrek.ultimateskyblock.api.IslandInfo {
      */
     public void setConfig(FileConfiguration config) {
         this.config = config;
+        this.party = IslandParty.parse(name, config);
     }
 }
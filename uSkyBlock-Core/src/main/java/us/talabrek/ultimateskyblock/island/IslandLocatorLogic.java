@@ -9,6 +9,7 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.uSkyBlock;
@@ -36,6 +37,7 @@ public class IslandLocatorLogic {
     private final WorldManager worldManager;
     private final Scheduler scheduler;
     private final OrphanLogic orphanLogic;
+    private final IslandOccupancy occupancy;
     private final uSkyBlock plugin;
     private final File configFile;
     private final FileConfiguration config;
@@ -50,7 +52,8 @@ public class IslandLocatorLogic {
         @NotNull Logger logger,
         @NotNull WorldManager worldManager,
         @NotNull Scheduler scheduler,
-        @NotNull OrphanLogic orphanLogic
+        @NotNull OrphanLogic orphanLogic,
+        @NotNull IslandOccupancy occupancy
     ) {
         this.plugin = plugin;
         this.configFile = pluginDir.resolve("lastIslandConfig.yml").toFile();
@@ -58,6 +61,7 @@ public class IslandLocatorLogic {
         this.worldManager = worldManager;
         this.scheduler = scheduler;
         this.orphanLogic = orphanLogic;
+        this.occupancy = occupancy;
         this.config = new YamlConfiguration();
         FileUtil.readConfig(config, configFile);
         // Backward compatibility
@@ -79,7 +83,12 @@ public class IslandLocatorLogic {
         return LocationUtil.alignToDistance(lastIsland, Settings.island_distance);
     }
 
-    public synchronized Location getNextIslandLocation(Player player) {
+    /**
+     * Finds and reserves the location of the next island.
+     *
+     * @param player The player creating the island, or null for an island without an owner yet.
+     */
+    public synchronized Location getNextIslandLocation(@Nullable Player player) {
         Location islandLocation = getNext(player);
         reserve(islandLocation);
         return islandLocation.clone();
@@ -99,9 +108,9 @@ public class IslandLocatorLogic {
         }, reservationTimeout);
     }
 
-    private synchronized Location getNext(Player player) {
+    private synchronized Location getNext(@Nullable Player player) {
         Location last = getLastIsland();
-        if (worldManager.isSkyWorld(player.getWorld()) && !plugin.islandInSpawn(player.getLocation())) {
+        if (player != null && worldManager.isSkyWorld(player.getWorld()) && !plugin.islandInSpawn(player.getLocation())) {
             Location location = LocationUtil.alignToDistance(player.getLocation(), Settings.island_distance);
             if (isAvailableLocation(location)) {
                 player.sendMessage(tr("\u00a79Creating an island at your location"));
@@ -117,9 +126,9 @@ public class IslandLocatorLogic {
         Location next = orphanLogic.getNextValidOrphan(this);
         if (next == null) {
             next = last;
-            // Ensure the found location is valid (or find one that is).
+            // Ensure the found location is valid (or find one that is), skipping the slots holding an island.
             while (!isAvailableLocation(next)) {
-                next = nextIslandLocation(next);
+                next = occupancy.nextFreeLocation(next);
             }
         }
         lastIsland = next;
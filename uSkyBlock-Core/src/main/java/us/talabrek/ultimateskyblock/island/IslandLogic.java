@@ -4,14 +4,17 @@ import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.cache.RemovalListener;
-import com.google.gson.GsonBuilder;
+import com.google.common.util.concurrent.Striped;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -19,18 +22,23 @@ import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.api.IslandLevel;
 import us.talabrek.ultimateskyblock.api.IslandRank;
 import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
-import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.handler.task.WorldEditClearFlatlandTask;
+import us.talabrek.ultimateskyblock.island.level.ChunkCountCache;
 import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.player.NotificationManager;
 import us.talabrek.ultimateskyblock.player.PlayerInfo;
 import us.talabrek.ultimateskyblock.player.TeleportLogic;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.IslandUtil;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
@@ -38,20 +46,20 @@ import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,11 +77,19 @@ public class IslandLogic {
     private final TeleportLogic teleportLogic;
     private final Scheduler scheduler;
     private final PluginConfig config;
-    private final Path directoryIslands;
+    private final DocumentStore store;
+    private final WriteBehindQueue writer;
     private final OrphanLogic orphanLogic;
     private final PlayerDB playerDB;
+    private final ChunkCountCache chunkCountCache;
+    private final RankIndex rankIndex;
+    private final IslandOccupancy occupancy;
+    private final NotificationManager notificationManager;
 
     private final LoadingCache<String, IslandInfo> cache;
+    // Serializes creation and deletion of the same island, lookups go straight to the thread-safe cache
+    private final Striped<Lock> islandLocks = Striped.lock(64);
+    private final Set<String> loadingIslands = ConcurrentHashMap.newKeySet();
     private final boolean showMembers;
     private final boolean flatlandFix;
     private final boolean useDisplayNames;
@@ -81,7 +97,9 @@ public class IslandLogic {
     private final double topTenCutoff;
 
     private volatile Instant lastUpdated = Instant.MIN;
-    private final List<IslandLevel> ranks = new ArrayList<>();
+    private final Object rankLock = new Object();
+    private volatile RankTree ranks = RankTree.EMPTY;
+    private volatile RenderedTopTen renderedTopTen = null;
 
     @Inject
     public IslandLogic(
@@ -91,9 +109,14 @@ public class IslandLogic {
         @NotNull TeleportLogic teleportLogic,
         @NotNull Scheduler scheduler,
         @NotNull PluginConfig config,
-        @NotNull @PluginDataDir Path dataPath,
+        @NotNull DocumentStore store,
+        @NotNull WriteBehindQueue writer,
         @NotNull OrphanLogic orphanLogic,
-        @NotNull PlayerDB playerDB
+        @NotNull PlayerDB playerDB,
+        @NotNull ChunkCountCache chunkCountCache,
+        @NotNull RankIndex rankIndex,
+        @NotNull IslandOccupancy occupancy,
+        @NotNull NotificationManager notificationManager
     ) {
         this.logger = logger;
         this.plugin = plugin;
@@ -102,13 +125,12 @@ public class IslandLogic {
         this.scheduler = scheduler;
         this.config = config;
         this.playerDB = playerDB;
-        Path islandDirectory = dataPath.resolve("islands");
-        try {
-            Files.createDirectories(islandDirectory);
-        } catch (IOException e) {
-            logger.severe("Unable to create island directory: " + islandDirectory);
-        }
-        this.directoryIslands = islandDirectory;
+        this.chunkCountCache = chunkCountCache;
+        this.rankIndex = rankIndex;
+        this.occupancy = occupancy;
+        this.notificationManager = notificationManager;
+        this.store = store;
+        this.writer = writer;
         this.orphanLogic = orphanLogic;
         this.showMembers = config.getYamlConfig().getBoolean("options.island.topTenShowMembers", true);
         this.flatlandFix = config.getYamlConfig().getBoolean("options.island.fixFlatland", false);
@@ -119,29 +141,30 @@ public class IslandLogic {
                 "maximumSize=200,expireAfterWrite=15m,expireAfterAccess=10m"))
             .removalListener((RemovalListener<String, IslandInfo>) removal -> {
                 logger.fine("Removing island-info " + removal.getKey() + " from cache");
-                removal.getValue().saveToFile();
+                IslandInfo islandInfo = removal.getValue();
+                if (islandInfo.isDirty()) {
+                    islandInfo.enqueueSave();
+                }
             })
             .build(new CacheLoader<>() {
                 @Override
                 public @NotNull IslandInfo load(@NotNull String islandName) {
                     logger.fine("Loading island-info " + islandName + " to cache!");
-                    return new IslandInfo(islandName, plugin, directoryIslands);
+                    writer.writeNow(DocumentKind.ISLAND, islandName);
+                    return new IslandInfo(islandName, plugin, store, writer);
                 }
             });
         Duration every = Duration.ofSeconds(config.getYamlConfig().getInt("options.advanced.island.saveEvery", 30));
-        saveTask = scheduler.async(this::saveDirtyToFiles, every, every);
-    }
-
-    private void saveDirtyToFiles() {
-        // asMap.values() should NOT touch the cache.
-        for (IslandInfo islandInfo : cache.asMap().values()) {
-            if (islandInfo.isDirty()) {
-                islandInfo.saveToFile();
-            }
+        saveTask = scheduler.async(() -> {
+            rankIndex.save();
+            occupancy.save();
+        }, every, every);
+        if (rankIndex.isBuilt()) {
+            scheduler.async(() -> generateTopTen(null));
         }
     }
 
-    public synchronized IslandInfo getIslandInfo(String islandName) {
+    public IslandInfo getIslandInfo(String islandName) {
         if (islandName == null || plugin.isMaintenanceMode()) {
             return null;
         }
@@ -152,6 +175,77 @@ public class IslandLogic {
         }
     }
 
+    /**
+     * Looks up an island without touching the storage, for use in event handlers on the main thread.
+     *
+     * @return The island if it is in the cache, otherwise <code>null</code> and the island is loaded in the background.
+     */
+    public @Nullable IslandInfo getIslandInfoIfLoaded(@Nullable String islandName) {
+        if (islandName == null || plugin.isMaintenanceMode()) {
+            return null;
+        }
+        IslandInfo islandInfo = cache.getIfPresent(islandName);
+        if (islandInfo == null) {
+            loadIslandInfoAsync(islandName);
+        }
+        return islandInfo;
+    }
+
+    /**
+     * Loads an existing island into the cache in the background, unless it is already being loaded.
+     */
+    public void loadIslandInfoAsync(@NotNull String islandName) {
+        if (!loadingIslands.add(islandName)) {
+            return;
+        }
+        scheduler.async(() -> {
+            try {
+                if (store.exists(DocumentKind.ISLAND, islandName)) {
+                    getIslandInfo(islandName);
+                }
+            } finally {
+                loadingIslands.remove(islandName);
+            }
+        });
+    }
+
+    /**
+     * Loads the island in the background, and calls back on the main thread with the island,
+     * or <code>null</code> if it doesn't exist.
+     */
+    public void loadIslandInfoAsync(@NotNull String islandName, @NotNull Consumer<IslandInfo> callback) {
+        scheduler.async(() -> {
+            IslandInfo islandInfo = cache.getIfPresent(islandName);
+            if (islandInfo == null && store.exists(DocumentKind.ISLAND, islandName)) {
+                islandInfo = getIslandInfo(islandName);
+            }
+            IslandInfo loaded = islandInfo;
+            scheduler.sync(() -> callback.accept(loaded));
+        });
+    }
+
+    /**
+     * Loads the island at the location and its neighbours in the background, so they are in the cache before a player
+     * moving around gets there.
+     */
+    public void prefetchIslandsAround(@NotNull Location location) {
+        if (plugin.isMaintenanceMode()) {
+            return;
+        }
+        long distance = Settings.island_distance;
+        long x = Math.round(location.getX() / distance) * distance;
+        long z = Math.round(location.getZ() / distance) * distance;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                String islandName = (x + dx * distance) + "," + (z + dz * distance);
+                // Most neighbouring slots are empty, so skip them without a lookup in the storage
+                if (occupancy.isOccupied(islandName) && cache.getIfPresent(islandName) == null) {
+                    loadIslandInfoAsync(islandName);
+                }
+            }
+        }
+    }
+
     public IslandInfo getIslandInfo(PlayerInfo playerInfo) {
         if (playerInfo != null && playerInfo.getHasIsland()) {
             return getIslandInfo(playerInfo.locationForParty());
@@ -235,74 +329,65 @@ public class IslandLogic {
     }
 
     public void displayTopTen(final CommandSender sender, int page) {
-        synchronized (ranks) {
-            int maxpage = ((ranks.size() - 1) / 10) + 1;
-            if (page > maxpage) {
-                page = maxpage;
-            }
-            if (page < 1) {
-                page = 1;
-            }
-            sender.sendMessage(tr("\u00a7eWALL OF FAME (page {0} of {1}):", page, maxpage));
-            if (ranks.isEmpty()) {
-                if (Settings.island_useTopTen) {
-                    sender.sendMessage(tr("\u00a74Top ten list is empty! Only islands above level {0} is considered.", topTenCutoff));
-                } else {
-                    sender.sendMessage(tr("\u00a74Island level has been disabled, contact an administrator."));
-                }
-            }
-            int place = 1;
-            PlayerInfo playerInfo = plugin.getPlayerInfo(sender.getName());
-            IslandRank rank = null;
-            if (playerInfo != null && playerInfo.getHasIsland()) {
-                rank = getRank(playerInfo.locationForParty());
-            }
-            int offset = (page - 1) * 10;
-            place += offset;
-            for (final IslandLevel level : ranks.subList(offset, Math.min(ranks.size(), 10 * page))) {
-                String members = "";
-                if (showMembers && !level.getMembers().isEmpty()) {
-                    members = Arrays.toString(level.getMembers().toArray(new String[0]));
-                }
-                String message = String.format(tr("\u00a7a#%2d \u00a77(%5.2f): \u00a7e%s \u00a77%s"),
-                    place, level.getScore(), level.getLeaderName(), members);
-                if (sender instanceof Player target) {
-                    String warpString = getJsonWarpString(
-                        message,
-                        tr("Click to warp to the island!"),
-                        String.format("/is w %s", level.getLeaderName())
-                    );
-                    uSkyBlock.getInstance().execCommand(target, "console:tellraw " +
-                        target.getName() + " " + warpString, false);
-                } else {
-                    sender.sendMessage(message);
-                }
-
-
-                place++;
-            }
+        RankTree snapshot = ranks;
+        int maxpage = ((snapshot.size() - 1) / 10) + 1;
+        if (page > maxpage) {
+            page = maxpage;
+        }
+        if (page < 1) {
+            page = 1;
+        }
+        for (Component line : getTopTenPage(snapshot, page, maxpage)) {
+            notificationManager.sendMessage(sender, line);
+        }
+        PlayerInfo playerInfo = plugin.getPlayerInfo(sender.getName());
+        if (playerInfo != null && playerInfo.getHasIsland()) {
+            IslandRank rank = getRank(snapshot, playerInfo.locationForParty());
             if (rank != null) {
                 sender.sendMessage(tr("\u00a7eYour rank is: \u00a7f{0}", rank.getRank()));
             }
         }
-
     }
 
-    private String getJsonWarpString(String text, String hoverText, String command) {
-        Map<String, Object> hoverEvent = new HashMap<>();
-        hoverEvent.put("action", "show_text");
-        hoverEvent.put("value", hoverText);
-
-        Map<String, Object> clickEvent = new HashMap<>();
-        clickEvent.put("action", "run_command");
-        clickEvent.put("value", command);
-
-        Map<String, Object> rootMap = new HashMap<>();
-        rootMap.put("text", text);
-        rootMap.put("hoverEvent", hoverEvent);
-        rootMap.put("clickEvent", clickEvent);
+    /**
+     * Returns the page of the top-ten, rendered once per rank snapshot.
+     */
+    private List<Component> getTopTenPage(RankTree snapshot, int page, int maxpage) {
+        RenderedTopTen rendered = renderedTopTen;
+        if (rendered == null || rendered.snapshot() != snapshot) {
+            rendered = new RenderedTopTen(snapshot, new ConcurrentHashMap<>());
+            renderedTopTen = rendered;
+        }
+        return rendered.pages().computeIfAbsent(page, p -> renderTopTenPage(snapshot, p, maxpage));
+    }
 
-        return new GsonBuilder().create().toJson(rootMap);
+    private List<Component> renderTopTenPage(RankTree snapshot, int page, int maxpage) {
+        LegacyComponentSerializer serializer = notificationManager.getLegacySerializer();
+        List<Component> lines = new ArrayList<>();
+        lines.add(serializer.deserialize(tr("\u00a7eWALL OF FAME (page {0} of {1}):", page, maxpage)));
+        if (snapshot.isEmpty()) {
+            if (Settings.island_useTopTen) {
+                lines.add(serializer.deserialize(tr("\u00a74Top ten list is empty! Only islands above level {0} is considered.", topTenCutoff)));
+            } else {
+                lines.add(serializer.deserialize(tr("\u00a74Island level has been disabled, contact an administrator.")));
+            }
+        }
+        int offset = (page - 1) * 10;
+        int place = offset + 1;
+        Component hoverText = serializer.deserialize(tr("Click to warp to the island!"));
+        for (final IslandLevel level : snapshot.getRange(offset, 10)) {
+            String members = "";
+            if (showMembers && !level.getMembers().isEmpty()) {
+                members = Arrays.toString(level.getMembers().toArray(new String[0]));
+            }
+            String message = String.format(tr("\u00a7a#%2d \u00a77(%5.2f): \u00a7e%s \u00a77%s"),
+                place, level.getScore(), level.getLeaderName(), members);
+            lines.add(serializer.deserialize(message)
+                .hoverEvent(HoverEvent.showText(hoverText))
+                .clickEvent(ClickEvent.runCommand(String.format("/is w %s", level.getLeaderName()))));
+            place++;
+        }
+        return List.copyOf(lines);
     }
 
     public void showTopTen(final CommandSender sender, final int page) {
@@ -319,24 +404,45 @@ public class IslandLogic {
     }
 
     public List<IslandLevel> getRanks(int offset, int length) {
-        synchronized (ranks) {
-            int size = ranks.size();
-            if (size <= offset) {
-                return Collections.emptyList();
+        return ranks.getRange(offset, length);
+    }
+
+    public void generateTopTen(final CommandSender sender) {
+        List<IslandLevel> topTen = rankIndex.isBuilt() ? generateTopTenFromIndex() : generateTopTenFromFiles();
+        RankTree snapshot = RankTree.EMPTY;
+        for (IslandLevel islandLevel : topTen) {
+            snapshot = snapshot.put(islandLevel);
+        }
+        synchronized (rankLock) {
+            lastUpdated = Instant.now();
+            ranks = snapshot;
+        }
+        plugin.fireChangeEvent(sender, uSkyBlockEvent.Cause.RANK_UPDATED);
+    }
+
+    private List<IslandLevel> generateTopTenFromIndex() {
+        List<IslandLevel> topTen = new ArrayList<>();
+        for (RankIndex.Entry entry : rankIndex.getEntries()) {
+            if (entry.level() > topTenCutoff && !entry.ignore()) {
+                topTen.add(createIslandLevel(entry));
             }
-            return ranks.subList(offset, Math.min(size - offset, length));
         }
+        return topTen;
     }
 
-    public void generateTopTen(final CommandSender sender) {
+    /**
+     * Generates the top-ten from the stored islands, building the rank index on the way.
+     */
+    private List<IslandLevel> generateTopTenFromFiles() {
         List<IslandLevel> topTen = new ArrayList<>();
-        final String[] listOfFiles = directoryIslands.toFile().list(IslandUtil.createIslandFilenameFilter());
-        for (String file : listOfFiles) {
-            String islandName = FileUtil.getBasename(file);
+        for (String islandName : getIslandNames()) {
             try {
                 boolean wasLoaded = cache.getIfPresent(islandName) != null;
                 IslandInfo islandInfo = getIslandInfo(islandName);
                 double level = islandInfo != null ? islandInfo.getLevel() : 0;
+                if (islandInfo != null) {
+                    rankIndex.update(islandInfo);
+                }
                 if (islandInfo != null && level > topTenCutoff && !islandInfo.ignore()) {
                     IslandLevel islandLevel = createIslandLevel(islandInfo, level);
                     topTen.add(islandLevel);
@@ -348,23 +454,43 @@ public class IslandLogic {
                 logger.log(Level.WARNING, "Error during rank generation", e);
             }
         }
-        Collections.sort(topTen);
-        synchronized (ranks) {
-            lastUpdated = Instant.now();
-            ranks.clear();
-            ranks.addAll(topTen);
+        rankIndex.setBuilt();
+        rankIndex.save();
+        return topTen;
+    }
+
+    private IslandLevel createIslandLevel(RankIndex.Entry entry) {
+        String leader = null;
+        if (entry.leaderId() != null) {
+            leader = playerDB.getName(entry.leaderId());
+            if (leader == null) {
+                leader = entry.leaderId().toString();
+            }
         }
-        plugin.fireChangeEvent(sender, uSkyBlockEvent.Cause.RANK_UPDATED);
+        List<String> members = new ArrayList<>();
+        for (UUID memberId : entry.memberIds()) {
+            String member = playerDB.getName(memberId);
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        return createIslandLevel(entry.islandName(), leader, members, entry.level());
     }
 
     private IslandLevel createIslandLevel(IslandInfo islandInfo, double level) {
-        String partyLeader = islandInfo.getLeader();
+        return createIslandLevel(islandInfo.getName(), islandInfo.getLeader(), islandInfo.getMembers(), level);
+    }
+
+    private IslandLevel createIslandLevel(String islandName, String partyLeader, Collection<String> members, double level) {
         String partyLeaderName = partyLeader;
-        List<String> memberList = new ArrayList<>(islandInfo.getMembers());
+        List<String> memberList = new ArrayList<>(members);
         memberList.remove(partyLeader);
         List<String> names = new ArrayList<>();
         if (useDisplayNames) {
-            partyLeaderName = playerDB.getDisplayName(partyLeader);
+            String leaderDisplayName = partyLeader != null ? playerDB.getDisplayName(partyLeader) : null;
+            if (leaderDisplayName != null) {
+                partyLeaderName = leaderDisplayName;
+            }
             for (String name : memberList) {
                 String displayName = playerDB.getDisplayName(name);
                 if (displayName != null) {
@@ -374,16 +500,25 @@ public class IslandLogic {
         } else {
             names = memberList;
         }
-        return new IslandLevel(islandInfo.getName(), partyLeaderName, names, level);
+        return new IslandLevel(islandName, partyLeaderName, names, level);
     }
 
-    public synchronized IslandInfo createIslandInfo(String location, String player) {
-        IslandInfo info = getIslandInfo(location);
-        info.resetIslandConfig(player);
-        return info;
+    public IslandInfo createIslandInfo(String location, String player) {
+        Lock lock = islandLocks.get(location);
+        lock.lock();
+        try {
+            IslandInfo info = getIslandInfo(location);
+            info.resetIslandConfig(player);
+            occupancy.setOccupied(location, true);
+            return info;
+        } finally {
+            lock.unlock();
+        }
     }
 
-    public synchronized void deleteIslandConfig(final String location) {
+    public void deleteIslandConfig(final String location) {
+        Lock lock = islandLocks.get(location);
+        lock.lock();
         try {
             IslandInfo islandInfo = cache.get(location);
             updateRank(islandInfo, new IslandScore(0, Collections.emptyList()));
@@ -391,38 +526,48 @@ public class IslandLogic {
                 islandInfo.delete();
             }
             cache.invalidate(location);
+            rankIndex.remove(location);
+            occupancy.setOccupied(location, false);
+            chunkCountCache.invalidateIsland(location);
             orphanLogic.addOrphan(location);
         } catch (ExecutionException e) {
             throw new IllegalStateException("Unable to delete island " + location, e);
+        } finally {
+            lock.unlock();
         }
     }
 
-    public synchronized void removeIslandFromMemory(String islandName) {
-        cache.invalidate(islandName);
+    public void removeIslandFromMemory(String islandName) {
+        Lock lock = islandLocks.get(islandName);
+        lock.lock();
+        try {
+            cache.invalidate(islandName);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public void updateRank(IslandInfo islandInfo, IslandScore score) {
-        synchronized (ranks) {
-            IslandLevel islandLevel = createIslandLevel(islandInfo, score.getScore());
-            ranks.remove(islandLevel);
-            ranks.add(islandLevel);
-            Collections.sort(ranks);
+        IslandLevel islandLevel = createIslandLevel(islandInfo, score.getScore());
+        synchronized (rankLock) {
+            ranks = ranks.put(islandLevel);
         }
     }
 
     public boolean hasIsland(Location loc) {
-        return loc == null || new File(directoryIslands.toFile(), LocationUtil.getIslandName(loc) + ".yml").exists();
+        return loc == null || occupancy.isOccupied(LocationUtil.getIslandName(loc));
     }
 
     public IslandRank getRank(String islandName) {
-        ArrayList<IslandLevel> rankList = new ArrayList<>(ranks);
-        for (int i = 0; i < rankList.size(); i++) {
-            IslandLevel level = rankList.get(i);
-            if (level.getIslandName().equalsIgnoreCase(islandName)) {
-                return new IslandRank(level, i + 1);
-            }
+        return getRank(ranks, islandName);
+    }
+
+    private IslandRank getRank(RankTree snapshot, String islandName) {
+        if (islandName == null) {
+            return null;
         }
-        return null;
+        IslandLevel level = snapshot.getLevel(islandName);
+        return level != null ? new IslandRank(level, snapshot.getRank(islandName)) : null;
     }
 
     public boolean purge(String islandName) {
@@ -444,24 +589,37 @@ public class IslandLogic {
     public void shutdown() {
         saveTask.cancel();
         flushCache();
-        saveDirtyToFiles();
+        rankIndex.save();
+        occupancy.save();
     }
 
     public long flushCache() {
         long size = cache.size();
-        cache.invalidateAll(); // Flush to files
+        cache.invalidateAll(); // Queues the dirty islands for writing
         return size;
     }
 
     public int getSize() {
-        try (var stream = Files.list(directoryIslands)) {
-            return (int) stream.count();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        return store.count(DocumentKind.ISLAND);
+    }
+
+    public RankIndex getRankIndex() {
+        return rankIndex;
+    }
+
+    /**
+     * @return The names of all stored islands, excluding the spawn.
+     */
+    public List<String> getIslandNames() {
+        List<String> islandNames = new ArrayList<>();
+        for (String islandName : store.getKeys(DocumentKind.ISLAND)) {
+            if (IslandUtil.isIslandName(islandName)) {
+                islandNames.add(islandName);
+            }
         }
+        return islandNames;
     }
 
-    public Path getIslandDirectory() {
-        return directoryIslands;
+    private record RenderedTopTen(RankTree snapshot, Map<Integer, List<Component>> pages) {
     }
 }
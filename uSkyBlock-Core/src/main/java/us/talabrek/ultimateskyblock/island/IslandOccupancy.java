@@ -0,0 +1,274 @@
+package us.talabrek.ultimateskyblock.island;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bitmap of the island grid slots that hold an island, so looking up whether an island exists and finding the
+ * next free slot for a new island needs no storage access.
+ * <p>
+ * The bit of a slot is its position on the spiral walked by {@link IslandLocatorLogic#nextIslandLocation(Location)},
+ * so the next free slot after the last allocated island is {@link BitSet#nextClearBit(int)}, which skips 64 occupied
+ * slots at a time. Islands that aren't aligned to the grid are kept in a set on the side.
+ * <p>
+ * The bitmap is stored in <code>occupancy.dat</code>, and rebuilt from the stored islands when it is missing or the
+ * island distance has changed. It is written as soon as a slot becomes occupied, so a crash never hands out the slot
+ * of a new island again, freed slots are written with the next {@link #save()}.
+ */
+@Singleton
+public class IslandOccupancy {
+    private static final int FORMAT_VERSION = 1;
+
+    private final Logger logger;
+    private final Path bitmapFile;
+    private final int distance;
+    private final BitSet occupied = new BitSet();
+    private final Set<String> offGrid = ConcurrentHashMap.newKeySet();
+    private final Object saveLock = new Object();
+    private boolean dirty = false;
+
+    @Inject
+    public IslandOccupancy(@NotNull @PluginDataDir Path pluginDir, @NotNull Logger logger, @NotNull DocumentStore store) {
+        this.logger = logger;
+        this.bitmapFile = pluginDir.resolve("occupancy.dat");
+        this.distance = Math.max(1, Settings.island_distance);
+        if (!load()) {
+            rebuild(store);
+        }
+    }
+
+    private boolean load() {
+        if (!Files.exists(bitmapFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(bitmapFile))) {
+            if (in.readInt() != FORMAT_VERSION || in.readInt() != distance) {
+                logger.info("The island distance has changed, rebuilding the island occupancy");
+                return false;
+            }
+            byte[] bits = new byte[in.readInt()];
+            in.readFully(bits);
+            int offGridCount = in.readInt();
+            synchronized (this) {
+                occupied.or(BitSet.valueOf(bits));
+            }
+            for (int i = 0; i < offGridCount; i++) {
+                offGrid.add(in.readUTF());
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to read the island occupancy, it will be rebuilt from the islands", e);
+            synchronized (this) {
+                occupied.clear();
+            }
+            offGrid.clear();
+            return false;
+        }
+    }
+
+    private void rebuild(DocumentStore store) {
+        for (String islandName : store.getKeys(DocumentKind.ISLAND)) {
+            mark(islandName, true);
+        }
+        logger.info("Indexed the occupancy of " + getOccupiedCount() + " islands");
+        save();
+    }
+
+    /**
+     * Writes the bitmap to file, if it has changed since it was last written.
+     */
+    public void save() {
+        synchronized (saveLock) {
+            write();
+        }
+    }
+
+    private void write() {
+        byte[] bits;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            bits = occupied.toByteArray();
+        }
+        Path tmpFile = bitmapFile.resolveSibling(bitmapFile.getFileName() + ".tmp");
+        try {
+            try (OutputStream file = Files.newOutputStream(tmpFile); DataOutputStream out = new DataOutputStream(file)) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(distance);
+                out.writeInt(bits.length);
+                out.write(bits);
+                Set<String> names = Set.copyOf(offGrid);
+                out.writeInt(names.size());
+                for (String islandName : names) {
+                    out.writeUTF(islandName);
+                }
+            }
+            Files.move(tmpFile, bitmapFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            synchronized (this) {
+                dirty = true;
+            }
+            logger.log(Level.WARNING, "Unable to save the island occupancy", e);
+        }
+    }
+
+    public boolean isOccupied(@Nullable String islandName) {
+        int slot = getSlot(islandName);
+        if (slot >= 0) {
+            synchronized (this) {
+                return occupied.get(slot);
+            }
+        }
+        return islandName != null && offGrid.contains(islandName);
+    }
+
+    public void setOccupied(@NotNull String islandName, boolean isOccupied) {
+        if (mark(islandName, isOccupied) && isOccupied) {
+            save();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the occupancy of the slot changed.
+     */
+    private boolean mark(String islandName, boolean isOccupied) {
+        int slot = getSlot(islandName);
+        if (slot >= 0) {
+            synchronized (this) {
+                if (occupied.get(slot) != isOccupied) {
+                    occupied.set(slot, isOccupied);
+                    dirty = true;
+                    return true;
+                }
+            }
+        } else if (isOccupied ? offGrid.add(islandName) : offGrid.remove(islandName)) {
+            synchronized (this) {
+                dirty = true;
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The first slot after the given location on the allocation spiral, that doesn't hold an island.
+     */
+    public @NotNull Location nextFreeLocation(@NotNull Location after) {
+        Location location = LocationUtil.alignToDistance(after.clone(), distance);
+        int slot = getSlot(location.getBlockX(), location.getBlockZ());
+        if (slot < 0) {
+            // Outside the bitmap, walk the spiral
+            return IslandLocatorLogic.nextIslandLocation(location);
+        }
+        int free;
+        synchronized (this) {
+            free = occupied.nextClearBit(slot + 1);
+        }
+        long[] grid = getGrid(free);
+        location.setX(grid[0] * distance);
+        location.setZ(grid[1] * distance);
+        return location;
+    }
+
+    public synchronized int getOccupiedCount() {
+        return occupied.cardinality() + offGrid.size();
+    }
+
+    private int getSlot(String islandName) {
+        if (islandName == null) {
+            return -1;
+        }
+        int comma = islandName.indexOf(',');
+        if (comma < 0) {
+            return -1;
+        }
+        try {
+            return getSlot(Long.parseLong(islandName.substring(0, comma)), Long.parseLong(islandName.substring(comma + 1)));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return The bit of the island at the block coordinates, or <code>-1</code> if it isn't on the grid.
+     */
+    private int getSlot(long x, long z) {
+        if (x % distance != 0 || z % distance != 0) {
+            return -1;
+        }
+        long slot = getSpiralIndex(x / distance, z / distance);
+        return slot <= Integer.MAX_VALUE - 1 ? (int) slot : -1;
+    }
+
+    /**
+     * @return The position of the grid cell on the allocation spiral, starting with <code>0</code> at the origin.
+     */
+    static long getSpiralIndex(long x, long z) {
+        long r = Math.max(Math.abs(x), Math.abs(z));
+        if (r == 0) {
+            return 0;
+        }
+        long ringStart = (2 * r - 1) * (2 * r - 1);
+        long offset;
+        if (z == r && x > -r) {
+            offset = x + r - 1;
+        } else if (x == r) {
+            offset = 2 * r + (r - 1 - z);
+        } else if (z == -r) {
+            offset = 4 * r + (r - 1 - x);
+        } else {
+            offset = 6 * r + (z + r - 1);
+        }
+        return ringStart + offset;
+    }
+
+    /**
+     * @return The <code>{x, z}</code> grid cell at the position on the allocation spiral.
+     */
+    static long[] getGrid(long index) {
+        if (index == 0) {
+            return new long[]{0, 0};
+        }
+        long r = (long) ((Math.sqrt(index) + 1) / 2);
+        while ((2 * r + 1) * (2 * r + 1) <= index) {
+            r++;
+        }
+        while ((2 * r - 1) * (2 * r - 1) > index) {
+            r--;
+        }
+        long offset = index - (2 * r - 1) * (2 * r - 1);
+        long side = offset / (2 * r);
+        long step = offset % (2 * r);
+        if (side == 0) {
+            return new long[]{step - r + 1, r};
+        } else if (side == 1) {
+            return new long[]{r, r - 1 - step};
+        } else if (side == 2) {
+            return new long[]{r - 1 - step, -r};
+        }
+        return new long[]{-r, step - r + 1};
+    }
+}
@@ -0,0 +1,273 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.util.UUIDUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * The leader, members, bans and trustees of an island, parsed from the island config.
+ * <p>
+ * Every change replaces the immutable member map and uuid sets, so membership, ban, trust and permission checks
+ * are lock-free hash lookups. The party is only written back to the config by {@link #writeTo(ConfigurationSection)}
+ * when the island is saved.
+ */
+final class IslandParty {
+    private static final Logger log = Logger.getLogger(IslandParty.class.getName());
+
+    /**
+     * The member permissions, the index in the list is the bit in {@link Member#permissions()}.
+     */
+    static final List<String> PERMISSIONS = List.of(
+        "canChangeBiome", "canToggleLock", "canChangeWarp", "canToggleWarp", "canInviteOthers", "canKickOthers", "canBanOthers");
+    static final int ALL_PERMISSIONS = (1 << PERMISSIONS.size()) - 1;
+
+    private volatile String leaderName = "";
+    private volatile UUID leaderId = null;
+    private volatile Map<UUID, Member> members = Collections.emptyMap();
+    private volatile Set<UUID> bans = Collections.emptySet();
+    private volatile Set<UUID> trustees = Collections.emptySet();
+
+    static @NotNull IslandParty parse(@NotNull String islandName, @NotNull ConfigurationSection config) {
+        IslandParty party = new IslandParty();
+        party.leaderName = config.getString("party.leader", "");
+        party.leaderId = UUIDUtil.fromString(config.getString("party.leader-uuid", null));
+        Map<UUID, Member> members = new LinkedHashMap<>();
+        ConfigurationSection membersSection = config.getConfigurationSection("party.members");
+        if (membersSection != null) {
+            for (String uuid : membersSection.getKeys(false)) {
+                UUID id = UUIDUtil.fromString(uuid);
+                ConfigurationSection memberSection = membersSection.getConfigurationSection(uuid);
+                if (id == null || memberSection == null) {
+                    log.info("Island " + islandName + " has invalid member-section " + uuid);
+                    continue;
+                }
+                int permissions = 0;
+                for (int i = 0; i < PERMISSIONS.size(); i++) {
+                    if (memberSection.getBoolean(PERMISSIONS.get(i), false)) {
+                        permissions |= 1 << i;
+                    }
+                }
+                members.put(id, new Member(memberSection.getString("name", null), permissions));
+            }
+        }
+        party.members = Collections.unmodifiableMap(members);
+        party.bans = parseUUIDs(islandName, config.getStringList("banned.list"), "ban-value");
+        party.trustees = parseUUIDs(islandName, config.getStringList("trust.list"), "trustee-value");
+        return party;
+    }
+
+    private static Set<UUID> parseUUIDs(String islandName, List<String> list, String description) {
+        Set<UUID> uuids = new LinkedHashSet<>();
+        for (String uuid : list) {
+            UUID id = UUIDUtil.fromString(uuid);
+            if (id != null) {
+                uuids.add(id);
+            } else {
+                log.info("Island " + islandName + " has invalid " + description + " " + uuid);
+            }
+        }
+        return Collections.unmodifiableSet(uuids);
+    }
+
+    /**
+     * Writes the party to the config, keeping any other values of the member sections, e.g. the perk limits.
+     */
+    synchronized void writeTo(@NotNull ConfigurationSection config) {
+        config.set("party.leader", leaderName);
+        config.set("party.leader-uuid", leaderId != null ? leaderId.toString() : null);
+        ConfigurationSection membersSection = config.getConfigurationSection("party.members");
+        if (membersSection == null) {
+            membersSection = config.createSection("party.members");
+        }
+        for (String uuid : membersSection.getKeys(false)) {
+            UUID id = UUIDUtil.fromString(uuid);
+            if (id == null || !members.containsKey(id)) {
+                membersSection.set(uuid, null);
+            }
+        }
+        for (Map.Entry<UUID, Member> entry : members.entrySet()) {
+            String uuid = entry.getKey().toString();
+            ConfigurationSection memberSection = membersSection.getConfigurationSection(uuid);
+            if (memberSection == null) {
+                memberSection = membersSection.createSection(uuid);
+            }
+            Member member = entry.getValue();
+            if (member.name() != null) {
+                memberSection.set("name", member.name());
+            }
+            for (int i = 0; i < PERMISSIONS.size(); i++) {
+                memberSection.set(PERMISSIONS.get(i), member.hasPermission(1 << i));
+            }
+        }
+        config.set("party.currentSize", members.size());
+        config.set("banned.list", bans.isEmpty() ? null : asStrings(bans));
+        config.set("trust.list", trustees.isEmpty() ? null : asStrings(trustees));
+    }
+
+    private static List<String> asStrings(Set<UUID> uuids) {
+        List<String> list = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            list.add(uuid.toString());
+        }
+        return list;
+    }
+
+    /**
+     * @return The permission bit of the permission name, or <code>0</code> if it isn't a member permission.
+     */
+    static int getPermissionBit(@NotNull String permission) {
+        int index = PERMISSIONS.indexOf(permission);
+        return index >= 0 ? 1 << index : 0;
+    }
+
+    @NotNull String getLeaderName() {
+        return leaderName;
+    }
+
+    @Nullable UUID getLeaderId() {
+        return leaderId;
+    }
+
+    synchronized void setLeader(@NotNull String name, @Nullable UUID id) {
+        leaderName = name;
+        leaderId = id;
+    }
+
+    synchronized void setLeaderName(@NotNull String name) {
+        leaderName = name;
+    }
+
+    synchronized void setLeaderId(@Nullable UUID id) {
+        leaderId = id;
+    }
+
+    /**
+     * @return The members in the order they joined, never modified.
+     */
+    @NotNull Map<UUID, Member> getMembers() {
+        return members;
+    }
+
+    @NotNull Set<UUID> getMemberIds() {
+        return members.keySet();
+    }
+
+    @Nullable Member getMember(@NotNull UUID id) {
+        return members.get(id);
+    }
+
+    boolean isMember(@NotNull UUID id) {
+        return members.containsKey(id);
+    }
+
+    synchronized void putMember(@NotNull UUID id, @NotNull Member member) {
+        Map<UUID, Member> copy = new LinkedHashMap<>(members);
+        copy.put(id, member);
+        members = Collections.unmodifiableMap(copy);
+    }
+
+    synchronized boolean removeMember(@NotNull UUID id) {
+        if (!members.containsKey(id)) {
+            return false;
+        }
+        Map<UUID, Member> copy = new LinkedHashMap<>(members);
+        copy.remove(id);
+        members = Collections.unmodifiableMap(copy);
+        return true;
+    }
+
+    /**
+     * Removes the leader and all members, keeping the bans and trustees.
+     */
+    synchronized void clearMembers() {
+        leaderName = "";
+        leaderId = null;
+        members = Collections.emptyMap();
+    }
+
+    /**
+     * @return The bans in the order they were added, never modified.
+     */
+    @NotNull Set<UUID> getBans() {
+        return bans;
+    }
+
+    synchronized boolean addBan(@NotNull UUID id) {
+        if (bans.contains(id)) {
+            return false;
+        }
+        bans = added(bans, id);
+        return true;
+    }
+
+    synchronized boolean removeBan(@NotNull UUID id) {
+        if (!bans.contains(id)) {
+            return false;
+        }
+        bans = removed(bans, id);
+        return true;
+    }
+
+    /**
+     * @return The trustees in the order they were added, never modified.
+     */
+    @NotNull Set<UUID> getTrustees() {
+        return trustees;
+    }
+
+    synchronized boolean addTrustee(@NotNull UUID id) {
+        if (trustees.contains(id)) {
+            return false;
+        }
+        trustees = added(trustees, id);
+        return true;
+    }
+
+    synchronized boolean removeTrustee(@NotNull UUID id) {
+        if (!trustees.contains(id)) {
+            return false;
+        }
+        trustees = removed(trustees, id);
+        return true;
+    }
+
+    private static Set<UUID> added(Set<UUID> set, UUID id) {
+        Set<UUID> copy = new LinkedHashSet<>(set);
+        copy.add(id);
+        return Collections.unmodifiableSet(copy);
+    }
+
+    private static Set<UUID> removed(Set<UUID> set, UUID id) {
+        Set<UUID> copy = new LinkedHashSet<>(set);
+        copy.remove(id);
+        return Collections.unmodifiableSet(copy);
+    }
+
+    /**
+     * A party member, with the member permissions as a bitmask of {@link #PERMISSIONS}.
+     */
+    record Member(@Nullable String name, int permissions) {
+        boolean hasPermission(int bit) {
+            return (permissions & bit) != 0;
+        }
+
+        @NotNull Member withName(@Nullable String name) {
+            return new Member(name, permissions);
+        }
+
+        @NotNull Member withPermissions(int permissions) {
+            return new Member(name, permissions);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package us.talabrek.ultimateskyblock.island;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import dk.lockfuglsang.minecraft.file.FileUtil;
+import io.papermc.lib.PaperLib;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
+import us.talabrek.ultimateskyblock.island.task.LocateChestTask;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A pool of pre-generated islands without an owner, so <code>/is create</code> only has to claim one.
+ * <p>
+ * The number of islands kept per schematic is configured by <code>island-schemes.&lt;name&gt;.poolSize</code>. The
+ * pool is filled one island at a time, and only while the average tick time is below
+ * <code>options.island.pool.maxTickTime</code> milliseconds. Pooled islands are pasted and protected by locked regions,
+ * only the chest is filled when they are claimed, since its items depend on the perks of the player.
+ * <p>
+ * Must only be used from the main thread.
+ */
+@Singleton
+public class IslandPool {
+    private static final Duration FILL_PERIOD = Duration.ofSeconds(5);
+
+    private final uSkyBlock plugin;
+    private final Logger logger;
+    private final Scheduler scheduler;
+    private final WorldManager worldManager;
+    private final IslandLogic islandLogic;
+    private final IslandLocatorLogic islandLocatorLogic;
+    private final IslandGenerator islandGenerator;
+    private final IslandOccupancy occupancy;
+    private final OrphanLogic orphanLogic;
+    private final File configFile;
+    private final Map<String, Integer> poolSizes = new LinkedHashMap<>();
+    private final Map<String, Deque<String>> pooled = new LinkedHashMap<>();
+    private final double maxTickTime;
+
+    private BukkitTask fillTask = null;
+    private Location filling = null;
+
+    @Inject
+    public IslandPool(
+        @NotNull uSkyBlock plugin,
+        @NotNull @PluginDataDir Path pluginDir,
+        @NotNull Logger logger,
+        @NotNull PluginConfig config,
+        @NotNull Scheduler scheduler,
+        @NotNull WorldManager worldManager,
+        @NotNull IslandLogic islandLogic,
+        @NotNull IslandLocatorLogic islandLocatorLogic,
+        @NotNull IslandGenerator islandGenerator,
+        @NotNull IslandOccupancy occupancy,
+        @NotNull OrphanLogic orphanLogic
+    ) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.scheduler = scheduler;
+        this.worldManager = worldManager;
+        this.islandLogic = islandLogic;
+        this.islandLocatorLogic = islandLocatorLogic;
+        this.islandGenerator = islandGenerator;
+        this.occupancy = occupancy;
+        this.orphanLogic = orphanLogic;
+        this.configFile = pluginDir.resolve("islandpool.yml").toFile();
+        this.maxTickTime = config.getYamlConfig().getDouble("options.island.pool.maxTickTime", 40);
+        for (String schemeName : islandGenerator.getSchemeNames()) {
+            int poolSize = config.getYamlConfig().getInt("island-schemes." + schemeName + ".poolSize", 0);
+            if (poolSize > 0) {
+                poolSizes.put(schemeName, poolSize);
+            }
+        }
+        load();
+    }
+
+    private void load() {
+        FileConfiguration config = new YamlConfiguration();
+        FileUtil.readConfig(config, configFile);
+        if (!config.isConfigurationSection("pool")) {
+            return;
+        }
+        for (String schemeName : config.getConfigurationSection("pool").getKeys(false)) {
+            Deque<String> islands = new ArrayDeque<>(config.getStringList("pool." + schemeName));
+            // The occupancy is rebuilt from the stored islands, which doesn't include the pooled ones
+            islands.forEach(islandName -> occupancy.setOccupied(islandName, true));
+            pooled.put(schemeName, islands);
+        }
+    }
+
+    private void save() {
+        YamlConfiguration config = new YamlConfiguration();
+        pooled.forEach((schemeName, islands) -> config.set("pool." + schemeName, new ArrayList<>(islands)));
+        scheduler.async(() -> {
+            try {
+                config.save(configFile);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to save " + configFile, e);
+            }
+        });
+    }
+
+    public void startup() {
+        if (!poolSizes.isEmpty()) {
+            fillTask = scheduler.sync(this::fillNext, FILL_PERIOD, FILL_PERIOD);
+        }
+    }
+
+    /**
+     * Stops filling the pool, and gives back the location of an island that was being generated.
+     */
+    public void shutdown() {
+        if (fillTask != null) {
+            fillTask.cancel();
+            fillTask = null;
+        }
+        if (filling != null) {
+            abandon(filling);
+        }
+    }
+
+    /**
+     * Takes a pre-generated island of the schematic out of the pool.
+     *
+     * @return The location of the island, or <code>null</code> if none is ready.
+     */
+    public @Nullable Location claim(@NotNull String schemeName) {
+        Deque<String> islands = pooled.get(schemeName);
+        String islandName = islands != null ? islands.poll() : null;
+        if (islandName == null) {
+            return null;
+        }
+        save();
+        String[] coords = islandName.split(",");
+        return new Location(worldManager.getWorld(),
+            Integer.parseInt(coords[0]), Settings.island_height, Integer.parseInt(coords[1]));
+    }
+
+    public int getPooled(@NotNull String schemeName) {
+        Deque<String> islands = pooled.get(schemeName);
+        return islands != null ? islands.size() : 0;
+    }
+
+    private void fillNext() {
+        if (filling != null || !isIdle()) {
+            return;
+        }
+        String schemeName = null;
+        int missing = 0;
+        for (Map.Entry<String, Integer> entry : poolSizes.entrySet()) {
+            int schemeMissing = entry.getValue() - getPooled(entry.getKey());
+            if (schemeMissing > missing) {
+                schemeName = entry.getKey();
+                missing = schemeMissing;
+            }
+        }
+        if (schemeName == null) {
+            return;
+        }
+        Location next = islandLocatorLogic.getNextIslandLocation(null);
+        if (!WorldGuardHandler.protectPooledIsland(LocationUtil.getIslandName(next), next)) {
+            orphanLogic.addOrphan(next);
+            return;
+        }
+        filling = next;
+        String finalSchemeName = schemeName;
+        islandLogic.clearIsland(next, () -> scheduler.sync(() -> generate(finalSchemeName, next)));
+    }
+
+    private void generate(String schemeName, Location next) {
+        if (filling != next) {
+            return;
+        }
+        LocateChestTask locateChestTask = new LocateChestTask(plugin, null, next, chestLocation -> {
+            if (filling != next) {
+                return;
+            }
+            filling = null;
+            String islandName = LocationUtil.getIslandName(next);
+            if (chestLocation == null) {
+                logger.warning("No chest found on the pooled " + schemeName + " island at " + islandName);
+            }
+            occupancy.setOccupied(islandName, true);
+            pooled.computeIfAbsent(schemeName, k -> new ArrayDeque<>()).add(islandName);
+            save();
+        });
+        if (!islandGenerator.createIsland(null, next, schemeName, () -> locateChestTask.runTaskTimer(plugin, 0, 20))) {
+            logger.warning("Unable to locate schematic " + schemeName + ", it won't be pooled");
+            poolSizes.remove(schemeName);
+            abandon(next);
+        }
+    }
+
+    private void abandon(Location location) {
+        filling = null;
+        WorldGuardHandler.removeIslandRegion(LocationUtil.getIslandName(location));
+        orphanLogic.addOrphan(location);
+    }
+
+    private boolean isIdle() {
+        // The tick time is only available on Paper
+        return !PaperLib.isPaper() || Bukkit.getServer().getAverageTickTime() <= maxTickTime;
+    }
+}
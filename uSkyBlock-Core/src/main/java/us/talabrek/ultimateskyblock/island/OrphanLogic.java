@@ -6,16 +6,21 @@ import dk.lockfuglsang.minecraft.file.FileUtil;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import us.talabrek.ultimateskyblock.Settings;
 import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
-import java.io.File;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
@@ -25,6 +30,11 @@ import java.util.logging.Logger;
 
 /**
  * Responsible for storing, accessing and handling orphans.
+ * <p>
+ * Changes are appended to the journal <code>orphans.log</code>, one line per change: <code>+x,z</code> when a location
+ * is orphaned, <code>-x,z</code> when it is reused, and <code>!</code> when all orphans are cleared. The orphans are
+ * replayed from the journal at startup, and the journal is compacted to the current orphans once it has grown to
+ * more than twice their number.
  */
 @Singleton
 public class OrphanLogic {
@@ -32,11 +42,17 @@ public class OrphanLogic {
     public static final float ORPHAN_PITCH = -30;
     public static final float ORPHAN_YAW = 90;
 
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final char CLEARED = '!';
+    private static final int MIN_COMPACT_LINES = 1000;
+
     private final Logger logger;
     private final WorldManager worldManager;
-    private final FileConfiguration config;
-    private final File configFile;
+    private final Path journalFile;
     private final SortedSet<Orphan> orphaned = new TreeSet<>(new OrphanComparator());
+    private BufferedWriter journal;
+    private int journalLines = 0;
 
     @Inject
     public OrphanLogic(
@@ -46,88 +62,189 @@ public class OrphanLogic {
         ) {
         this.logger = logger;
         this.worldManager = worldManager;
-        configFile = pluginDir.resolve("orphans.yml").toFile();
-        config = FileUtil.getYmlConfiguration("orphans.yml");
-        readOrphans();
+        journalFile = pluginDir.resolve("orphans.log");
+        if (Files.exists(journalFile)) {
+            readJournal();
+        } else {
+            readLegacyOrphans(pluginDir.resolve("orphans.yml"));
+        }
+    }
+
+    private void readJournal() {
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                journalLines++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                try {
+                    switch (line.charAt(0)) {
+                        case ADDED -> orphaned.add(new Orphan(line.substring(1)));
+                        case REMOVED -> orphaned.remove(new Orphan(line.substring(1)));
+                        case CLEARED -> orphaned.clear();
+                        default -> logger.warning("Skipping invalid orphan journal entry " + line);
+                    }
+                } catch (RuntimeException e) {
+                    // Most likely a line cut short by a crash
+                    logger.warning("Skipping invalid orphan journal entry " + line);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Unable to read the orphans", e);
+        }
     }
 
-    private void readOrphans() {
-        if (config.contains("orphans.list")) {
+    private void readLegacyOrphans(Path configFile) {
+        if (!Files.exists(configFile)) {
+            return;
+        }
+        FileConfiguration config = new YamlConfiguration();
+        FileUtil.readConfig(config, configFile.toFile());
+        if (config.isString("orphans.list")) {
             // Old format
-            final String fullOrphan = config.getString("orphans.list");
-            if (!fullOrphan.isEmpty()) {
-                final String[] orphanArray = fullOrphan.split(";");
-                for (String loc : orphanArray) {
+            for (String loc : config.getString("orphans.list").split(";")) {
+                if (!loc.isEmpty()) {
                     orphaned.add(new Orphan(loc));
                 }
-                config.set("orphans.list", null); // delete config-node
-                save();
             }
         } else if (config.isList("orphans")) {
             for (String loc : config.getStringList("orphans")) {
                 orphaned.add(new Orphan(loc));
             }
         }
+        if (compact()) {
+            try {
+                Files.move(configFile, configFile.resolveSibling("orphans.yml.old"), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to rename " + configFile, e);
+            }
+        }
     }
 
-    public void save() {
-        // TODO: 17/09/2015 - R4zorax: Perhaps not save to file EVERY time?
-        List<String> value = new ArrayList<>();
-        for (Orphan orphan : new ArrayList<>(orphaned)) {
-            value.add(orphan.toString());
+    /**
+     * Flushes the journal, and compacts it if it has grown to more than twice the number of orphans.
+     */
+    public synchronized void save() {
+        if (journalLines > MIN_COMPACT_LINES && journalLines > 2 * orphaned.size()) {
+            compact();
+        } else if (journal != null) {
+            try {
+                journal.flush();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Unable to store orphans", e);
+            }
         }
-        config.set("orphans", value);
+    }
+
+    /**
+     * Rewrites the journal with only the current orphans.
+     *
+     * @return <code>true</code> if the journal was written.
+     */
+    private synchronized boolean compact() {
+        closeJournal();
+        Path tmpFile = journalFile.resolveSibling(journalFile.getFileName() + ".tmp");
         try {
-            config.save(configFile);
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (Orphan orphan : orphaned) {
+                    writer.write(ADDED + orphan.toString());
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journalLines = orphaned.size();
+            return true;
         } catch (IOException e) {
             logger.log(Level.SEVERE, "Unable to store orphans", e);
+            return false;
         }
     }
 
-    public void addOrphan(String loc) {
-        orphaned.add(new Orphan(loc));
+    private void append(char change, @Nullable Orphan orphan) {
+        try {
+            if (journal == null) {
+                journal = Files.newBufferedWriter(journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            journal.write(orphan != null ? change + orphan.toString() : String.valueOf(change));
+            journal.newLine();
+            journal.flush();
+            journalLines++;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Unable to store orphans", e);
+            closeJournal();
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Unable to close the orphan journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    public synchronized void addOrphan(String loc) {
+        Orphan orphan = new Orphan(loc);
+        if (orphaned.add(orphan)) {
+            append(ADDED, orphan);
+        }
     }
 
-    public void addOrphan(Location location) {
+    public synchronized void addOrphan(Location location) {
         if (location != null) {
-            orphaned.add(new Orphan(location.getBlockX(), location.getBlockZ()));
-            save();
+            Orphan orphan = new Orphan(location.getBlockX(), location.getBlockZ());
+            if (orphaned.add(orphan)) {
+                append(ADDED, orphan);
+            }
         }
     }
 
     // This is a hacky way to break the dependency cycle between OrphanLogic and IslandLocatorLogic. Refactor.
-    public @Nullable Location getNextValidOrphan(IslandLocatorLogic islandLocatorLogic) {
+    public synchronized @Nullable Location getNextValidOrphan(IslandLocatorLogic islandLocatorLogic) {
         if (orphaned.isEmpty()) {
             return null;
         }
-        try {
-            World world = worldManager.getWorld();
-            for (Iterator<Orphan> it = orphaned.iterator(); it.hasNext(); ) {
-                Orphan candidate = it.next();
-                if (candidate != null) {
-                    it.remove();
-                    Location loc = new Location(world, candidate.getX(), Settings.island_height, candidate.getZ(), ORPHAN_YAW, ORPHAN_PITCH);
-                    if (islandLocatorLogic.isAvailableLocation(loc)) {
-                        return loc;
-                    }
+        World world = worldManager.getWorld();
+        for (Iterator<Orphan> it = orphaned.iterator(); it.hasNext(); ) {
+            Orphan candidate = it.next();
+            if (candidate != null) {
+                it.remove();
+                append(REMOVED, candidate);
+                Location loc = new Location(world, candidate.getX(), Settings.island_height, candidate.getZ(), ORPHAN_YAW, ORPHAN_PITCH);
+                if (islandLocatorLogic.isAvailableLocation(loc)) {
+                    return loc;
                 }
             }
-            return null;
-        } finally {
-            save();
         }
+        return null;
     }
 
-    public void clear() {
+    public synchronized void clear() {
         orphaned.clear();
+        append(CLEARED, null);
         save();
     }
 
+    /**
+     * Compacts the journal and closes it.
+     */
+    public synchronized void shutdown() {
+        if (journalLines != orphaned.size()) {
+            compact();
+        }
+        closeJournal();
+    }
+
     public boolean wasOrphan(Location loc) {
         return loc != null && loc.getYaw() == ORPHAN_YAW && loc.getPitch() == ORPHAN_PITCH;
     }
 
-    public List<Orphan> getOrphans() {
+    public synchronized List<Orphan> getOrphans() {
         return List.copyOf(orphaned);
     }
 
@@ -0,0 +1,156 @@
+package us.talabrek.ultimateskyblock.island;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
+import us.talabrek.ultimateskyblock.util.UUIDUtil;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Index of the level, leader, members and ignore flag of every island, so the top-ten can be
+ * generated without loading the island files.
+ * <p>
+ * The index is stored in <code>ranks.txt</code>, one island per line. It is only considered built once
+ * all island files have been indexed, until then the top-ten is generated from the island files. The leader and
+ * members are stored by UUID, so their current names are shown even if they were renamed since.
+ */
+@Singleton
+public class RankIndex {
+    private static final String SEPARATOR = "\t";
+    private static final String MEMBER_SEPARATOR = ",";
+
+    private final Logger logger;
+    private final Path indexFile;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean built = false;
+    private volatile boolean dirty = false;
+
+    @Inject
+    public RankIndex(@NotNull @PluginDataDir Path pluginDir, @NotNull Logger logger) {
+        this.logger = logger;
+        this.indexFile = pluginDir.resolve("ranks.txt");
+        load();
+    }
+
+    private void load() {
+        if (!Files.exists(indexFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length < 5) {
+                    continue;
+                }
+                UUID leaderId = parseUUID(fields[3]);
+                List<UUID> memberIds = new ArrayList<>();
+                if (!fields[4].isEmpty()) {
+                    for (String memberId : fields[4].split(MEMBER_SEPARATOR)) {
+                        memberIds.add(parseUUID(memberId));
+                    }
+                }
+                entries.put(fields[0], new Entry(fields[0], Double.parseDouble(fields[1]), "1".equals(fields[2]), leaderId, memberIds));
+            }
+            built = true;
+        } catch (OutdatedIndexException e) {
+            logger.info("The rank index stores player names, it will be rebuilt from the island files");
+            entries.clear();
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to read the rank index, it will be rebuilt from the island files", e);
+            entries.clear();
+        }
+    }
+
+    private static @Nullable UUID parseUUID(String id) {
+        UUID uuid = UUIDUtil.fromString(id);
+        if (uuid == null && !id.isEmpty()) {
+            throw new OutdatedIndexException();
+        }
+        return uuid;
+    }
+
+    /**
+     * Writes the index to file, if it has changed since it was last written.
+     */
+    public synchronized void save() {
+        if (!built || !dirty) {
+            return;
+        }
+        dirty = false;
+        Path tmpFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(tmpFile, StandardCharsets.UTF_8)) {
+                for (Entry entry : entries.values()) {
+                    writer.write(entry.islandName() + SEPARATOR + entry.level() + SEPARATOR + (entry.ignore() ? "1" : "0")
+                        + SEPARATOR + UUIDUtil.asString(entry.leaderId())
+                        + SEPARATOR + String.join(MEMBER_SEPARATOR, entry.memberIds().stream().map(UUIDUtil::asString).toList()));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmpFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            logger.log(Level.WARNING, "Unable to save the rank index", e);
+        }
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Marks the index as containing all islands.
+     */
+    public void setBuilt() {
+        built = true;
+        dirty = true;
+    }
+
+    public void update(@NotNull IslandInfo islandInfo) {
+        put(new Entry(islandInfo.getName(), islandInfo.getLevel(), islandInfo.ignore(), islandInfo.getLeaderUniqueId(),
+            new ArrayList<>(islandInfo.getMemberUUIDs())));
+    }
+
+    void put(@NotNull Entry entry) {
+        entries.put(entry.islandName(), entry);
+        dirty = true;
+    }
+
+    public void remove(@NotNull String islandName) {
+        if (entries.remove(islandName) != null) {
+            dirty = true;
+        }
+    }
+
+    public @NotNull Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    public record Entry(String islandName, double level, boolean ignore, UUID leaderId, List<UUID> memberIds) {
+    }
+
+    /**
+     * Thrown when reading an index written before the players were stored by UUID.
+     */
+    private static class OutdatedIndexException extends RuntimeException {
+    }
+}
@@ -0,0 +1,219 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.api.IslandLevel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Immutable snapshot of the island levels ordered by score, highest first, supporting rank lookups in O(log n).
+ * <p>
+ * Implemented as two persistent treaps, one ordered by score and one by island name, where every node holds the size
+ * of its subtree. Updates copy the path to the changed node, and return a new snapshot sharing the rest of the
+ * nodes, so snapshots can be read from any thread without locking.
+ */
+final class RankTree {
+    static final RankTree EMPTY = new RankTree(null, null, 0);
+
+    private static final Comparator<IslandLevel> ORDER = Comparator
+        .comparingDouble(IslandLevel::getScore).reversed()
+        .thenComparing(IslandLevel::getLeaderName, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(IslandLevel::getIslandName);
+    private static final Comparator<IslandLevel> BY_NAME = Comparator.comparing(IslandLevel::getIslandName);
+
+    private final Node byScore;
+    private final Node byName;
+    private final long version;
+
+    private RankTree(Node byScore, Node byName, long version) {
+        this.byScore = byScore;
+        this.byName = byName;
+        this.version = version;
+    }
+
+    /**
+     * @return The number of updates made since the empty tree.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size(byScore);
+    }
+
+    public boolean isEmpty() {
+        return byScore == null;
+    }
+
+    /**
+     * @return A snapshot with the level added, replacing the previous level of the island.
+     */
+    public @NotNull RankTree put(@NotNull IslandLevel level) {
+        Node scoreRoot = byScore;
+        Node nameRoot = byName;
+        IslandLevel previous = getLevel(level.getIslandName());
+        if (previous != null) {
+            scoreRoot = remove(scoreRoot, previous, ORDER);
+            nameRoot = remove(nameRoot, previous, BY_NAME);
+        }
+        int priority = ThreadLocalRandom.current().nextInt();
+        scoreRoot = insert(scoreRoot, level, priority, ORDER);
+        nameRoot = insert(nameRoot, level, priority, BY_NAME);
+        return new RankTree(scoreRoot, nameRoot, version + 1);
+    }
+
+    /**
+     * @return A snapshot without the island.
+     */
+    public @NotNull RankTree remove(@NotNull String islandName) {
+        IslandLevel previous = getLevel(islandName);
+        if (previous == null) {
+            return this;
+        }
+        return new RankTree(remove(byScore, previous, ORDER), remove(byName, previous, BY_NAME), version + 1);
+    }
+
+    public @Nullable IslandLevel getLevel(@NotNull String islandName) {
+        Node node = byName;
+        while (node != null) {
+            int cmp = islandName.compareTo(node.level.getIslandName());
+            if (cmp == 0) {
+                return node.level;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * @return The 1-based rank of the island, or <code>-1</code> if it isn't ranked.
+     */
+    public int getRank(@NotNull String islandName) {
+        IslandLevel level = getLevel(islandName);
+        if (level == null) {
+            return -1;
+        }
+        int rank = 1;
+        Node node = byScore;
+        while (node != null) {
+            int cmp = ORDER.compare(level, node.level);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return The levels ranked from <code>offset + 1</code> to <code>offset + length</code>.
+     */
+    public @NotNull List<IslandLevel> getRange(int offset, int length) {
+        if (offset < 0 || offset >= size() || length <= 0) {
+            return Collections.emptyList();
+        }
+        List<IslandLevel> range = new ArrayList<>(Math.min(length, size() - offset));
+        // Descend to the node at offset, keeping the ancestors that come after it
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = byScore;
+        int index = offset;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                stack.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                stack.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        while (!stack.isEmpty() && range.size() < length) {
+            node = stack.pop();
+            range.add(node.level);
+            for (Node next = node.right; next != null; next = next.left) {
+                stack.push(next);
+            }
+        }
+        return range;
+    }
+
+    private static Node insert(Node node, IslandLevel level, int priority, Comparator<IslandLevel> order) {
+        if (node == null) {
+            return new Node(level, priority, null, null);
+        }
+        if (order.compare(level, node.level) < 0) {
+            Node left = insert(node.left, level, priority, order);
+            return left.priority > node.priority
+                ? new Node(left.level, left.priority, left.left, new Node(node.level, node.priority, left.right, node.right))
+                : new Node(node.level, node.priority, left, node.right);
+        } else {
+            Node right = insert(node.right, level, priority, order);
+            return right.priority > node.priority
+                ? new Node(right.level, right.priority, new Node(node.level, node.priority, node.left, right.left), right.right)
+                : new Node(node.level, node.priority, node.left, right);
+        }
+    }
+
+    private static Node remove(Node node, IslandLevel level, Comparator<IslandLevel> order) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = order.compare(level, node.level);
+        if (cmp < 0) {
+            return new Node(node.level, node.priority, remove(node.left, level, order), node.right);
+        } else if (cmp > 0) {
+            return new Node(node.level, node.priority, node.left, remove(node.right, level, order));
+        }
+        return merge(node.left, node.right);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return new Node(left.level, left.priority, left.left, merge(left.right, right));
+        }
+        return new Node(right.level, right.priority, merge(left, right.left), right.right);
+    }
+
+    private static int size(Node node) {
+        return node != null ? node.size : 0;
+    }
+
+    private static final class Node {
+        private final IslandLevel level;
+        private final int priority;
+        private final Node left;
+        private final Node right;
+        private final int size;
+
+        private Node(IslandLevel level, int priority, Node left, Node right) {
+            this.level = level;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -2,47 +2,146 @@ package us.talabrek.ultimateskyblock.island.level;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import org.bukkit.Location;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
-import us.talabrek.ultimateskyblock.island.task.RecalculateRunnable;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
 
 import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Refreshes the level of the islands that had blocks changed since their last score.
+ * <p>
+ * The islands changed during one refresh interval are recalculated during the next, spread evenly across it.
+ * Must only be used from the main thread, except for {@link #getChanges()}.
+ */
 @Singleton
 public class AutoIslandLevelRefresh {
+    private static final Duration SPREAD_PERIOD = Duration.ofSeconds(1);
 
     private final uSkyBlock plugin;
-    private final PluginConfig config;
     private final Scheduler scheduler;
+    private final WorldManager worldManager;
+    private final Duration refreshRate;
 
-    private BukkitTask autoRecalculateTask = null;
+    /**
+     * The dirty islands, with the number of the last change to each.
+     */
+    private final Map<String, Long> dirtyIslands = new LinkedHashMap<>();
+    private final Set<String> refreshQueue = new LinkedHashSet<>();
+    private int refreshesPerRun = 0;
+    private volatile long changes = 0;
+
+    private BukkitTask collectTask = null;
+    private BukkitTask refreshTask = null;
 
     @Inject
     public AutoIslandLevelRefresh(
         @NotNull uSkyBlock plugin,
         @NotNull PluginConfig config,
-        @NotNull Scheduler scheduler
+        @NotNull Scheduler scheduler,
+        @NotNull WorldManager worldManager
     ) {
         this.plugin = plugin;
-        this.config = config;
         this.scheduler = scheduler;
+        this.worldManager = worldManager;
+        this.refreshRate = Duration.ofMinutes(Math.max(0, config.getYamlConfig().getInt("options.island.autoRefreshScore", 0)));
+    }
+
+    public boolean isEnabled() {
+        return !refreshRate.isZero();
     }
 
     public void startup() {
-        int refreshEveryMinute = config.getYamlConfig().getInt("options.island.autoRefreshScore", 0);
-        if (refreshEveryMinute > 0) {
-            Duration refreshRate = Duration.ofMinutes(refreshEveryMinute);
-            autoRecalculateTask = scheduler.sync(new RecalculateRunnable(plugin), refreshRate, refreshRate);
+        if (isEnabled()) {
+            collectTask = scheduler.sync(this::collectDirtyIslands, refreshRate, refreshRate);
+            refreshTask = scheduler.sync(this::refreshNext, SPREAD_PERIOD, SPREAD_PERIOD);
         }
     }
 
     public void shutdown() {
-        if (autoRecalculateTask != null) {
-            autoRecalculateTask.cancel();
-            autoRecalculateTask = null;
+        if (collectTask != null) {
+            collectTask.cancel();
+            collectTask = null;
+        }
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+        dirtyIslands.clear();
+        refreshQueue.clear();
+    }
+
+    /**
+     * Marks the island containing the location as changed.
+     */
+    public void markDirty(@NotNull Location location) {
+        if (!isEnabled() || !(worldManager.isSkyWorld(location.getWorld()) || worldManager.isSkyNether(location.getWorld()))) {
+            return;
+        }
+        dirtyIslands.put(LocationUtil.getIslandName(LocationUtil.alignToDistance(location.clone(), Settings.island_distance)), ++changes);
+    }
+
+    /**
+     * Returns the number of changes marked so far, to be passed to {@link #scoreUpdated(String, long)} when a score
+     * requested now has been calculated.
+     */
+    public long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Called when the score of the island has been calculated, so it needs no refresh until it changes again.
+     *
+     * @param changesAtRequest The {@link #getChanges()} when the calculation was requested. Later changes may not be
+     *                         part of the score, and keep the island dirty.
+     */
+    public void scoreUpdated(@NotNull String islandName, long changesAtRequest) {
+        dirtyIslands.computeIfPresent(islandName, (name, lastChange) -> lastChange > changesAtRequest ? lastChange : null);
+    }
+
+    private void collectDirtyIslands() {
+        refreshQueue.addAll(dirtyIslands.keySet());
+        dirtyIslands.clear();
+        long runs = Math.max(1, refreshRate.dividedBy(SPREAD_PERIOD));
+        refreshesPerRun = (int) Math.ceil(refreshQueue.size() / (double) runs);
+    }
+
+    private void refreshNext() {
+        Iterator<String> it = refreshQueue.iterator();
+        for (int i = 0; i < refreshesPerRun && it.hasNext(); i++) {
+            String islandName = it.next();
+            it.remove();
+            if (plugin.getIslandLogic().getIslandInfoIfLoaded(islandName) != null) {
+                refresh(islandName);
+            } else {
+                // Looking up the island might load it from storage
+                scheduler.async(() -> {
+                    if (plugin.getIslandInfo(islandName) != null) {
+                        scheduler.sync(() -> refresh(islandName));
+                    }
+                });
+            }
         }
     }
+
+    private void refresh(String islandName) {
+        plugin.calculateScoreAsync(null, islandName, LevelCalculationQueue.Priority.AUTO_REFRESH, new Callback<>() {
+            @Override
+            public void run() {
+                // Only refreshes the score and rank
+            }
+        });
+    }
 }
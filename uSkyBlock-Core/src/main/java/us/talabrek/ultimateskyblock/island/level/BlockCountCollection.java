@@ -3,39 +3,74 @@ package us.talabrek.ultimateskyblock.island.level;
 import org.bukkit.Material;
 import us.talabrek.ultimateskyblock.api.model.BlockScore;
 
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 
 /**
- * Mutable collection for storing counts of blocks
+ * Mutable collection for storing counts of blocks.
+ * <p>
+ * Counts are kept per {@link Material#ordinal()} in a primitive array, and only mapped to their
+ * {@link BlockLevelConfig} when the score is calculated. Instances are not thread-safe, use one
+ * collection per thread and {@link #addAll(BlockCountCollection)} to merge them.
  */
 public class BlockCountCollection {
-    private BlockLevelConfigMap configMap;
-    private Map<BlockMatch, LongAdder> countMap;
+    private static final Material[] MATERIALS = Material.values();
+
+    private final BlockLevelConfigMap configMap;
+    private final long[] counts;
 
     public BlockCountCollection(BlockLevelConfigMap configMap) {
         this.configMap = configMap;
-        countMap = new ConcurrentHashMap<>();
+        counts = new long[MATERIALS.length];
     }
 
     public int add(Material type, int blockCount) {
-        BlockLevelConfig blockLevelConfig = configMap.get(type);
-        BlockMatch key = blockLevelConfig.getKey();
-        LongAdder count = countMap.computeIfAbsent(key, k -> new LongAdder());
-        count.add(blockCount);
-        return count.intValue();
+        long count = counts[type.ordinal()] += blockCount;
+        return (int) Math.min(count, Integer.MAX_VALUE);
     }
 
     public int add(Material type) {
         return add(type, 1);
     }
 
+    public void addAll(BlockCountCollection other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+
+    public long getCount(Material type) {
+        return counts[type.ordinal()];
+    }
+
+    long getCount(int ordinal) {
+        return counts[ordinal];
+    }
+
+    void add(int ordinal, long blockCount) {
+        counts[ordinal] += blockCount;
+    }
+
+    int size() {
+        return counts.length;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
     public List<BlockScore> calculateScore(double pointsPerLevel) {
-        return countMap.entrySet().stream()
-                .map(e -> configMap.get(e.getKey()).calculateScore(e.getValue().intValue(), pointsPerLevel))
+        Map<BlockLevelConfig, Long> configCounts = new IdentityHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                configCounts.merge(configMap.get(MATERIALS[i]), counts[i], Long::sum);
+            }
+        }
+        return configCounts.entrySet().stream()
+                .map(e -> e.getKey().calculateScore((int) Math.min(e.getValue(), Integer.MAX_VALUE), pointsPerLevel))
                 .filter(f -> f.getScore() != 0)
                 .sorted(new BlockScoreComparator()).collect(Collectors.toList());
     }
@@ -3,6 +3,7 @@ package us.talabrek.ultimateskyblock.island.level;
 import org.bukkit.Material;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,9 +16,30 @@ public class BlockLevelConfigMap {
     private final BlockLevelConfigBuilder defaultBuilder;
     private final Map<Material, Set<BlockLevelConfig>> searchMap = new HashMap<>();
 
+    /**
+     * The resolved config of every {@link Material}, indexed by {@link Material#ordinal()}.
+     * Compiled once, so lookups during level calculation are lock- and allocation-free.
+     */
+    private final BlockLevelConfig[] lookupTable;
+
     public BlockLevelConfigMap(Collection<BlockLevelConfig> configCollection, BlockLevelConfigBuilder defaultBuilder) {
         this.defaultBuilder = defaultBuilder;
         configCollection.stream().forEach(m -> m.accept(new ExplodeMapVisitor(m)));
+        lookupTable = compile();
+    }
+
+    private BlockLevelConfig[] compile() {
+        Material[] materials = Material.values();
+        BlockLevelConfig[] table = new BlockLevelConfig[materials.length];
+        for (Material material : materials) {
+            BlockKey key = createKey(material);
+            BlockLevelConfig config = search(searchMap.getOrDefault(material, Collections.emptySet()), key);
+            if (config == null) {
+                config = defaultBuilder.copy().base(new BlockMatch(material)).build();
+            }
+            table[material.ordinal()] = config;
+        }
+        return table;
     }
 
     public synchronized BlockLevelConfig get(BlockMatch blockMatch) {
@@ -53,8 +75,8 @@ public class BlockLevelConfigMap {
         return null;
     }
 
-    public synchronized BlockLevelConfig get(Material type) {
-        return get(createKey(type));
+    public BlockLevelConfig get(Material type) {
+        return lookupTable[type.ordinal()];
     }
 
     private BlockKey createKey(Material material) {
@@ -0,0 +1,41 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+/**
+ * Immutable, sparse block counts of a single chunk.
+ */
+final class ChunkBlockCounts {
+    private final int[] ordinals;
+    private final long[] counts;
+
+    private ChunkBlockCounts(int[] ordinals, long[] counts) {
+        this.ordinals = ordinals;
+        this.counts = counts;
+    }
+
+    static ChunkBlockCounts of(BlockCountCollection collection) {
+        int types = 0;
+        for (int i = 0; i < collection.size(); i++) {
+            if (collection.getCount(i) != 0) {
+                types++;
+            }
+        }
+        int[] ordinals = new int[types];
+        long[] counts = new long[types];
+        int n = 0;
+        for (int i = 0; i < collection.size(); i++) {
+            long count = collection.getCount(i);
+            if (count != 0) {
+                ordinals[n] = i;
+                counts[n] = count;
+                n++;
+            }
+        }
+        return new ChunkBlockCounts(ordinals, counts);
+    }
+
+    void addTo(BlockCountCollection collection) {
+        for (int i = 0; i < ordinals.length; i++) {
+            collection.add(ordinals[i], counts[i]);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of the block counts per island chunk, so a level calculation only has to snapshot and
+ * scan the chunks that changed since the last one.
+ * <p>
+ * Chunks are invalidated by block changes. A chunk is reserved before it is snapshotted, and the
+ * counts are only stored if the chunk wasn't invalidated in the meantime. Blocks set by WorldEdit and
+ * other plugins without firing any events aren't seen, which is why the cache is disabled by default.
+ */
+@Singleton
+public class ChunkCountCache {
+    private static final Object PENDING = new Object();
+
+    private final WorldManager worldManager;
+    private final Cache<ChunkKey, Object> cache;
+
+    @Inject
+    public ChunkCountCache(@NotNull WorldManager worldManager, @NotNull PluginConfig config) {
+        this.worldManager = worldManager;
+        String spec = config.getYamlConfig().getString("options.advanced.chunkCountCache", "");
+        cache = spec == null || spec.isBlank() ? null : CacheBuilder.from(spec).build();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Starts a scan of the overworld or nether chunks of an island.
+     */
+    Scan startScan(String islandName, boolean nether) {
+        return new Scan(islandName, nether);
+    }
+
+    /**
+     * Invalidates the chunk containing the location.
+     */
+    public void invalidate(Location location) {
+        if (cache == null) {
+            return;
+        }
+        boolean nether;
+        if (worldManager.isSkyWorld(location.getWorld())) {
+            nether = false;
+        } else if (worldManager.isSkyNether(location.getWorld())) {
+            nether = true;
+        } else {
+            return;
+        }
+        String islandName = LocationUtil.getIslandName(LocationUtil.alignToDistance(location.clone(), Settings.island_distance));
+        cache.invalidate(new ChunkKey(islandName, nether, chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4)));
+    }
+
+    /**
+     * Invalidates all chunks of the island.
+     */
+    public void invalidateIsland(String islandName) {
+        if (cache != null) {
+            cache.asMap().keySet().removeIf(key -> key.islandName().equals(islandName));
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xffffffffL);
+    }
+
+    private record ChunkKey(String islandName, boolean nether, long chunk) {
+    }
+
+    /**
+     * The cached chunks of a single scan.
+     */
+    class Scan {
+        private final String islandName;
+        private final boolean nether;
+        private final Map<Long, ChunkBlockCounts> cached = new HashMap<>();
+
+        private Scan(String islandName, boolean nether) {
+            this.islandName = islandName;
+            this.nether = nether;
+        }
+
+        boolean isEnabled() {
+            return cache != null;
+        }
+
+        /**
+         * Reserves the chunk for this scan.
+         *
+         * @return <code>true</code> if the counts of the chunk are cached, and it need not be snapshotted.
+         */
+        boolean reserve(int chunkX, int chunkZ) {
+            if (cache == null) {
+                return false;
+            }
+            long chunk = chunkKey(chunkX, chunkZ);
+            Object value = cache.asMap().putIfAbsent(new ChunkKey(islandName, nether, chunk), PENDING);
+            if (value instanceof ChunkBlockCounts counts) {
+                cached.put(chunk, counts);
+                return true;
+            }
+            return false;
+        }
+
+        void addCachedTo(BlockCountCollection counts) {
+            cached.values().forEach(chunkCounts -> chunkCounts.addTo(counts));
+        }
+
+        void store(int chunkX, int chunkZ, ChunkBlockCounts counts) {
+            if (cache != null) {
+                ConcurrentMap<ChunkKey, Object> map = cache.asMap();
+                map.replace(new ChunkKey(islandName, nether, chunkKey(chunkX, chunkZ)), PENDING, counts);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import org.bukkit.ChunkSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Counts the blocks of chunk snapshots while the remaining chunks of the region are still being snapshotted.
+ * <p>
+ * Every snapshot holds a permit of the shared semaphore, which is released as soon as the snapshot is counted.
+ * Snapshots are handed over on the main thread, and counted in pieces on the executor.
+ */
+class ChunkCountPipeline {
+    private final ChunkRegionScan scan;
+    private final Executor executor;
+    private final Semaphore snapshotPermits;
+    private final int chunksPerTask;
+    private final BlockLevelConfigMap scoreMap;
+    private final BlockCountCollection counts;
+    private final List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+    ChunkCountPipeline(BlockLevelConfigMap scoreMap, ChunkRegionScan scan, Executor executor, Semaphore snapshotPermits, int chunksPerTask) {
+        this.scoreMap = scoreMap;
+        this.counts = new BlockCountCollection(scoreMap);
+        this.scan = scan;
+        this.executor = executor;
+        this.snapshotPermits = snapshotPermits;
+        this.chunksPerTask = Math.max(1, chunksPerTask);
+    }
+
+    /**
+     * Submits the snapshots for counting.
+     */
+    void accept(List<ChunkSnapshot> snapshots) {
+        for (int i = 0; i < snapshots.size(); i += chunksPerTask) {
+            List<ChunkSnapshot> piece = snapshots.subList(i, Math.min(i + chunksPerTask, snapshots.size()));
+            pending.add(CompletableFuture.runAsync(() -> count(piece), executor));
+        }
+    }
+
+    private void count(List<ChunkSnapshot> piece) {
+        BlockCountCollection pieceCounts = new BlockCountCollection(scoreMap);
+        BlockCountCollection scratch = new BlockCountCollection(scoreMap);
+        try {
+            for (ChunkSnapshot chunk : piece) {
+                scan.count(chunk, pieceCounts, scratch);
+            }
+        } finally {
+            snapshotPermits.release(piece.size());
+        }
+        synchronized (counts) {
+            counts.addAll(pieceCounts);
+        }
+    }
+
+    /**
+     * Completes when all submitted snapshots are counted. Must be called after the last snapshots are submitted.
+     *
+     * @return The counts of the region, including the cached chunks.
+     */
+    CompletableFuture<BlockCountCollection> finish() {
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> {
+                synchronized (counts) {
+                    scan.addCached(counts);
+                    return counts;
+                }
+            });
+    }
+}
@@ -0,0 +1,84 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+
+/**
+ * The blocks of a region in the interval [minY, maxY), counted chunk by chunk and section by section.
+ * Sections reported as empty by the snapshot are skipped entirely, and the counts of scanned chunks are cached.
+ */
+class ChunkRegionScan {
+    private final ChunkCountCache.Scan cacheScan;
+    private final int minX;
+    private final int maxX;
+    private final int minY;
+    private final int maxY;
+    private final int minZ;
+    private final int maxZ;
+    private final int minSection;
+
+    ChunkRegionScan(ProtectedRegion region, ChunkCountCache.Scan cacheScan, World world, int minY, int maxY) {
+        this.cacheScan = cacheScan;
+        minX = region.getMinimumPoint().getBlockX();
+        maxX = region.getMaximumPoint().getBlockX();
+        minZ = region.getMinimumPoint().getBlockZ();
+        maxZ = region.getMaximumPoint().getBlockZ();
+        int worldMinY = world != null ? world.getMinHeight() : 0;
+        this.minY = Math.max(minY, worldMinY);
+        this.maxY = world != null ? Math.min(maxY, world.getMaxHeight()) : maxY;
+        minSection = worldMinY >> 4;
+    }
+
+    /**
+     * Counts the blocks of the snapshotted chunk.
+     *
+     * @param scratch Collection used for counting the chunk before it's cached, cleared before use.
+     */
+    void count(ChunkSnapshot chunk, BlockCountCollection counts, BlockCountCollection scratch) {
+        int chunkX = chunk.getX();
+        int chunkZ = chunk.getZ();
+        if (cacheScan.isEnabled()) {
+            scratch.clear();
+            countChunk(chunk, chunkX, chunkZ, scratch);
+            ChunkBlockCounts chunkCounts = ChunkBlockCounts.of(scratch);
+            cacheScan.store(chunkX, chunkZ, chunkCounts);
+            chunkCounts.addTo(counts);
+        } else {
+            countChunk(chunk, chunkX, chunkZ, counts);
+        }
+    }
+
+    /**
+     * Adds the counts of the chunks that weren't snapshotted, because they were cached.
+     */
+    void addCached(BlockCountCollection counts) {
+        cacheScan.addCachedTo(counts);
+    }
+
+    private void countChunk(ChunkSnapshot chunk, int chunkX, int chunkZ, BlockCountCollection counts) {
+        int cxMin = Math.max(minX, chunkX << 4) & 0xf;
+        int cxMax = Math.min(maxX, (chunkX << 4) | 0xf) & 0xf;
+        int czMin = Math.max(minZ, chunkZ << 4) & 0xf;
+        int czMax = Math.min(maxZ, (chunkZ << 4) | 0xf) & 0xf;
+        for (int section = minY >> 4; section <= (maxY - 1) >> 4; ++section) {
+            if (chunk.isSectionEmpty(section - minSection)) {
+                continue;
+            }
+            int yMin = Math.max(minY, section << 4);
+            int yMax = Math.min(maxY, (section + 1) << 4);
+            for (int y = yMin; y < yMax; y++) {
+                for (int cz = czMin; cz <= czMax; cz++) {
+                    for (int cx = cxMin; cx <= cxMax; cx++) {
+                        Material blockType = chunk.getBlockType(cx, y, cz);
+                        if (blockType == Material.AIR) {
+                            continue;
+                        }
+                        counts.add(blockType);
+                    }
+                }
+            }
+        }
+    }
+}
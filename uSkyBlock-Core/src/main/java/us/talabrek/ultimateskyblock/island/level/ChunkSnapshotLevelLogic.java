@@ -4,22 +4,25 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
 import dk.lockfuglsang.minecraft.file.FileUtil;
-import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
 import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.island.task.ChunkSnapShotTask;
 import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
-import java.util.List;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -33,6 +36,12 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
     private final PluginConfig pluginConfig;
     private final Scheduler scheduler;
     private final Logger logger;
+    private final ForkJoinPool levelPool;
+    private final int chunksPerTask;
+    private final Semaphore snapshotPermits;
+    private final IncrementalLevelTracker levelTracker;
+    private final ChunkCountCache chunkCache;
+    private final InFlightScores inFlightScores;
 
     @Inject
     public ChunkSnapshotLevelLogic(
@@ -40,118 +49,127 @@ public class ChunkSnapshotLevelLogic extends CommonLevelLogic {
         @NotNull WorldManager worldManager,
         @NotNull PluginConfig pluginConfig,
         @NotNull Scheduler scheduler,
-        @NotNull Logger logger
+        @NotNull Logger logger,
+        @NotNull IncrementalLevelTracker levelTracker,
+        @NotNull ChunkCountCache chunkCache,
+        @NotNull Clock clock
     ) {
         super(FileUtil.getYmlConfiguration("levelConfig.yml"), worldManager);
         this.plugin = plugin;
         this.pluginConfig = pluginConfig;
         this.scheduler = scheduler;
         this.logger = logger;
+        this.levelTracker = levelTracker;
+        this.chunkCache = chunkCache;
+        FileConfiguration config = pluginConfig.getYamlConfig();
+        int threads = config.getInt("async.level.threads", Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        this.chunksPerTask = config.getInt("async.level.chunksPerTask", 4);
+        this.snapshotPermits = new Semaphore(Math.max(1, config.getInt("async.level.maxSnapshots", 256)));
+        this.inFlightScores = new InFlightScores(clock, Duration.ofMillis(config.getLong("async.level.reuseScoreMs", 0)));
+        this.levelPool = new ForkJoinPool(Math.max(1, threads), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("uSkyBlock-level-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
     }
 
     @Override
     public void calculateScoreAsync(final Location l, final Callback<IslandScore> callback) {
-        // TODO: 10/05/2015 - R4zorax: Ensure no overlapping calls to this one happen...
+        if (levelTracker.isEnabled()) {
+            String islandName = LocationUtil.getIslandName(l);
+            scheduler.sync(() -> {
+                BlockCountCollection counts = levelTracker.getCounts(islandName);
+                if (counts != null) {
+                    callback.setState(createIslandScore(counts, levelTracker.getNetherCounts(islandName)));
+                    callback.run();
+                } else {
+                    scanAsync(l, callback);
+                }
+            });
+        } else {
+            scanAsync(l, callback);
+        }
+    }
+
+    private void scanAsync(final Location l, final Callback<IslandScore> callback) {
+        final String islandName = LocationUtil.getIslandName(l);
+        IslandScore recentScore = inFlightScores.getRecent(islandName);
+        if (recentScore != null) {
+            callback.setState(recentScore);
+            scheduler.sync(callback);
+            return;
+        }
+        if (!inFlightScores.attach(islandName, callback)) {
+            return; // Joined the calculation already in progress
+        }
         logger.entering(this.getClass().getName(), "calculateScoreAsync");
-        // is further threading needed here?
         final ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(l);
         if (region == null) {
+            scheduler.sync(() -> inFlightScores.abort(islandName).forEach(Runnable::run));
             return;
         }
-        new ChunkSnapShotTask(scheduler, pluginConfig, l, region, new Callback<>() {
-            @Override
-            public void run() {
-                final List<ChunkSnapshot> snapshotsOverworld = getState();
-                Location netherLoc = getNetherLocation(l);
-                final ProtectedRegion netherRegion = WorldGuardHandler.getNetherRegionAt(netherLoc);
-                new ChunkSnapShotTask(scheduler, pluginConfig, netherLoc, netherRegion, new Callback<>() {
-                    @Override
-                    public void run() {
-                        final List<ChunkSnapshot> snapshotsNether = getState();
-                        new BukkitRunnable() {
-                            @Override
-                            public void run() {
-                                calculateScoreAndCallback(region, snapshotsOverworld, netherRegion, snapshotsNether, callback);
-                            }
-                        }.runTaskAsynchronously(plugin);
+        final ChunkCountCache.Scan cacheScan = chunkCache.startScan(islandName, false);
+        ChunkRegionScan scan = new ChunkRegionScan(region, cacheScan, l.getWorld(),
+            region.getMinimumPoint().getBlockY(), region.getMaximumPoint().getBlockY());
+        countBlocks(l, region, cacheScan, scan)
+            .thenAccept(counts -> scheduler.sync(() -> {
+                try {
+                    IslandScore islandScore = createIslandScore(counts);
+                    Location netherLoc = getNetherLocation(l);
+                    ProtectedRegion netherRegion = WorldGuardHandler.getNetherRegionAt(netherLoc);
+                    if (netherRegion == null || (!levelTracker.isEnabled() && islandScore.getScore() < activateNetherAtLevel)) {
+                        completeScore(islandName, region, counts, null, null, islandScore);
+                        return;
                     }
-                }).runTask(plugin);
-            }
-        }).runTask(plugin);
+                    // Add nether levels
+                    ChunkCountCache.Scan netherCacheScan = chunkCache.startScan(islandName, true);
+                    ChunkRegionScan netherScan = new ChunkRegionScan(netherRegion, netherCacheScan, netherLoc.getWorld(), 6, 120);
+                    countBlocks(netherLoc, netherRegion, netherCacheScan, netherScan)
+                        .thenAccept(netherCounts -> completeScore(islandName, region, counts, netherRegion, netherCounts,
+                            createIslandScore(counts, netherCounts)))
+                        .exceptionally(e -> abortScore(islandName, region, e));
+                } catch (RuntimeException e) {
+                    abortScore(islandName, region, e);
+                }
+            }))
+            .exceptionally(e -> abortScore(islandName, region, e));
     }
 
-    private void calculateScoreAndCallback(ProtectedRegion region, List<ChunkSnapshot> snapshotsOverworld, ProtectedRegion netherRegion, List<ChunkSnapshot> snapshotsNether, Callback<IslandScore> callback) {
-        IslandScore islandScore = calculateScore(region, snapshotsOverworld, netherRegion, snapshotsNether);
-        callback.setState(islandScore);
-        scheduler.sync(callback);
-        logger.exiting(this.getClass().getName(), "calculateScoreAsync");
+    /**
+     * Snapshots the chunks of the region on the main thread, while the snapshots taken so far are counted on the
+     * level pool.
+     */
+    private CompletableFuture<BlockCountCollection> countBlocks(Location location, ProtectedRegion region, ChunkCountCache.Scan cacheScan, ChunkRegionScan scan) {
+        ChunkCountPipeline pipeline = new ChunkCountPipeline(scoreMap, scan, levelPool, snapshotPermits, chunksPerTask);
+        CompletableFuture<BlockCountCollection> result = new CompletableFuture<>();
+        new ChunkSnapShotTask(scheduler, pluginConfig, location, region, chunk -> cacheScan.reserve(chunk.getBlockX(), chunk.getBlockZ()),
+            snapshotPermits, pipeline::accept, () -> pipeline.finish().whenComplete((counts, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(e);
+                } else {
+                    result.complete(counts);
+                }
+            })).runTask(plugin);
+        return result;
     }
 
-    private IslandScore calculateScore(ProtectedRegion region, List<ChunkSnapshot> snapshotsOverworld, ProtectedRegion netherRegion, List<ChunkSnapshot> snapshotsNether) {
-        final BlockCountCollection counts = new BlockCountCollection(scoreMap);
-        int minX = region.getMinimumPoint().getBlockX();
-        int maxX = region.getMaximumPoint().getBlockX();
-        int minY = region.getMinimumPoint().getBlockY();
-        int maxY = region.getMaximumPoint().getBlockY();
-        int minZ = region.getMinimumPoint().getBlockZ();
-        int maxZ = region.getMaximumPoint().getBlockZ();
-
-        for (int x = minX; x <= maxX; ++x) {
-            for (int z = minZ; z <= maxZ; ++z) {
-                ChunkSnapshot chunk = getChunkSnapshot(x >> 4, z >> 4, snapshotsOverworld);
-                if (chunk == null) {
-                    // This should NOT happen!
-                    logger.log(Level.WARNING, "Missing chunk in snapshot for x,z = " + x + "," + z);
-                    continue;
-                }
-                int cx = (x & 0xf);
-                int cz = (z & 0xf);
-                for (int y = minY; y < maxY; y++) {
-                    Material blockType = chunk.getBlockType(cx, y, cz);
-                    if (blockType == Material.AIR) {
-                        continue;
-                    }
-                    counts.add(blockType);
-                }
-            }
-        }
-        IslandScore islandScore = createIslandScore(counts);
-        if (islandScore.getScore() >= activateNetherAtLevel && netherRegion != null && snapshotsNether != null) {
-            // Add nether levels
-            minX = netherRegion.getMinimumPoint().getBlockX();
-            maxX = netherRegion.getMaximumPoint().getBlockX();
-            minZ = netherRegion.getMinimumPoint().getBlockZ();
-            maxZ = netherRegion.getMaximumPoint().getBlockZ();
-            for (int x = minX; x <= maxX; ++x) {
-                for (int z = minZ; z <= maxZ; ++z) {
-                    ChunkSnapshot chunk = getChunkSnapshot(x >> 4, z >> 4, snapshotsNether);
-                    if (chunk == null) {
-                        // This should NOT happen!
-                        logger.log(Level.WARNING, "Missing nether-chunk in snapshot for x,z = " + x + "," + z);
-                        continue;
-                    }
-                    int cx = (x & 0xf);
-                    int cz = (z & 0xf);
-                    for (int y = 6; y < 120; y++) {
-                        Material blockType = chunk.getBlockType(cx, y, cz);
-                        if (blockType == Material.AIR) {
-                            continue;
-                        }
-                        counts.add(blockType);
-                    }
-                }
-            }
-            islandScore = createIslandScore(counts);
-        }
-        return islandScore;
+    private void completeScore(String islandName, ProtectedRegion region, BlockCountCollection counts,
+                               ProtectedRegion netherRegion, BlockCountCollection netherCounts, IslandScore score) {
+        scheduler.sync(() -> {
+            levelTracker.track(islandName, region, counts, netherRegion, netherCounts);
+            inFlightScores.complete(islandName, score).forEach(Runnable::run);
+        });
+        logger.exiting(this.getClass().getName(), "calculateScoreAsync");
     }
 
-    private static ChunkSnapshot getChunkSnapshot(int x, int z, List<ChunkSnapshot> snapshots) {
-        for (ChunkSnapshot chunk : snapshots) {
-            if (chunk.getX() == x && chunk.getZ() == z) {
-                return chunk;
-            }
-        }
+    private Void abortScore(String islandName, ProtectedRegion region, Throwable e) {
+        scheduler.sync(() -> inFlightScores.abort(islandName).forEach(Runnable::run));
+        logger.log(Level.WARNING, "Unable to calculate score for region " + region.getId(), e);
         return null;
     }
+
+    @Override
+    public void shutdown() {
+        levelPool.shutdown();
+    }
 }
@@ -41,4 +41,18 @@ public abstract class CommonLevelLogic implements LevelLogic {
         List<BlockScore> blockScores = blockCollection.calculateScore(pointsPerLevel);
         return new IslandScore(blockScores.stream().mapToDouble(BlockScore::getScore).sum(), blockScores);
     }
+
+    /**
+     * Creates the score of the overworld counts, adding the nether counts once the nether has been activated.
+     */
+    IslandScore createIslandScore(BlockCountCollection counts, BlockCountCollection netherCounts) {
+        IslandScore islandScore = createIslandScore(counts);
+        if (netherCounts != null && islandScore.getScore() >= activateNetherAtLevel) {
+            BlockCountCollection combined = new BlockCountCollection(scoreMap);
+            combined.addAll(counts);
+            combined.addAll(netherCounts);
+            islandScore = createIslandScore(combined);
+        }
+        return islandScore;
+    }
 }
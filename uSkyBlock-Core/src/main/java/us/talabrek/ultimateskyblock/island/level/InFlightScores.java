@@ -0,0 +1,95 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import us.talabrek.ultimateskyblock.api.async.Callback;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of the level calculations in progress, so callers requesting the score of an island
+ * that is already being calculated are attached to that calculation instead of starting another.
+ * <p>
+ * Optionally the last score of each island is reused for a short while.
+ */
+class InFlightScores {
+    private final Clock clock;
+    private final Duration reuseScoreFor;
+    private final Map<String, List<Callback<IslandScore>>> inFlight = new HashMap<>();
+    private final Map<String, RecentScore> recent = new HashMap<>();
+
+    InFlightScores(Clock clock, Duration reuseScoreFor) {
+        this.clock = clock;
+        this.reuseScoreFor = reuseScoreFor;
+    }
+
+    /**
+     * Returns the score of the island if calculated within the reuse window, otherwise <code>null</code>.
+     */
+    synchronized IslandScore getRecent(String islandName) {
+        RecentScore recentScore = recent.get(islandName);
+        if (recentScore == null) {
+            return null;
+        }
+        if (recentScore.expires().isBefore(clock.instant())) {
+            recent.remove(islandName);
+            return null;
+        }
+        return recentScore.score();
+    }
+
+    /**
+     * Attaches the callback to the calculation of the island.
+     *
+     * @return <code>true</code> if no calculation was in progress, and the caller must start one.
+     */
+    synchronized boolean attach(String islandName, Callback<IslandScore> callback) {
+        List<Callback<IslandScore>> callbacks = inFlight.get(islandName);
+        if (callbacks != null) {
+            callbacks.add(callback);
+            return false;
+        }
+        callbacks = new ArrayList<>();
+        callbacks.add(callback);
+        inFlight.put(islandName, callbacks);
+        return true;
+    }
+
+    /**
+     * Completes the calculation of the island.
+     *
+     * @return The callbacks attached to the calculation, with the score set as state.
+     */
+    synchronized List<Callback<IslandScore>> complete(String islandName, IslandScore score) {
+        List<Callback<IslandScore>> callbacks = inFlight.remove(islandName);
+        if (callbacks == null) {
+            return List.of();
+        }
+        if (!reuseScoreFor.isZero()) {
+            recent.put(islandName, new RecentScore(score, clock.instant().plus(reuseScoreFor)));
+        }
+        callbacks.forEach(callback -> callback.setState(score));
+        return callbacks;
+    }
+
+    /**
+     * Aborts the calculation of the island.
+     *
+     * @return The callbacks attached to the calculation, with a <code>null</code> state.
+     */
+    synchronized List<Callback<IslandScore>> abort(String islandName) {
+        List<Callback<IslandScore>> callbacks = inFlight.remove(islandName);
+        if (callbacks == null) {
+            return List.of();
+        }
+        callbacks.forEach(callback -> callback.setState(null));
+        return callbacks;
+    }
+
+    private record RecentScore(IslandScore score, Instant expires) {
+    }
+}
@@ -0,0 +1,225 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.island.task.RecalculateTopTen;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the block counts of scanned islands up to date from block events, so the level can be
+ * calculated without snapshotting any chunks.
+ * <p>
+ * Islands are tracked from the first full scan. Islands changed since their last scan are periodically re-scanned
+ * to correct any drift, and islands that haven't changed within the reconcile interval are no longer tracked.
+ * All methods must be called from the main thread.
+ */
+@Singleton
+public class IncrementalLevelTracker {
+    private static final int NETHER_MIN_Y = 6;
+    private static final int NETHER_MAX_Y = 120;
+
+    private final uSkyBlock plugin;
+    private final WorldManager worldManager;
+    private final Scheduler scheduler;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration reconcileEvery;
+    private final Map<String, TrackedIsland> islands = new HashMap<>();
+
+    private BukkitTask reconcileTask = null;
+
+    @Inject
+    public IncrementalLevelTracker(
+        @NotNull uSkyBlock plugin,
+        @NotNull WorldManager worldManager,
+        @NotNull PluginConfig config,
+        @NotNull Scheduler scheduler,
+        @NotNull Clock clock
+    ) {
+        this.plugin = plugin;
+        this.worldManager = worldManager;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.enabled = config.getYamlConfig().getBoolean("options.island.incremental-level.enabled", false);
+        this.reconcileEvery = Duration.ofMinutes(Math.max(1, config.getYamlConfig().getInt("options.island.incremental-level.reconcile-every", 60)));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void startup() {
+        if (enabled) {
+            reconcileTask = scheduler.sync(this::reconcile, reconcileEvery, reconcileEvery);
+        }
+    }
+
+    public void shutdown() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+            reconcileTask = null;
+        }
+        islands.clear();
+    }
+
+    /**
+     * Starts tracking the island with the counts of a full scan, replacing any previous counts.
+     */
+    void track(String islandName, ProtectedRegion region, BlockCountCollection counts, @Nullable ProtectedRegion netherRegion, @Nullable BlockCountCollection netherCounts) {
+        if (enabled) {
+            islands.put(islandName, new TrackedIsland(region, counts, netherRegion, netherCounts, clock.instant()));
+        }
+    }
+
+    public void untrack(String islandName) {
+        islands.remove(islandName);
+    }
+
+    public boolean isTracked(String islandName) {
+        return islands.containsKey(islandName);
+    }
+
+    /**
+     * Returns the live counts of the overworld part of the island, or <code>null</code> if not tracked.
+     */
+    @Nullable BlockCountCollection getCounts(String islandName) {
+        TrackedIsland island = islands.get(islandName);
+        return island != null ? island.counts : null;
+    }
+
+    /**
+     * Returns the live counts of the nether part of the island, or <code>null</code> if not tracked.
+     */
+    @Nullable BlockCountCollection getNetherCounts(String islandName) {
+        TrackedIsland island = islands.get(islandName);
+        return island != null ? island.netherCounts : null;
+    }
+
+    /**
+     * Returns the live count of the type across overworld and nether, or <code>-1</code> if the island isn't tracked.
+     */
+    public long getCount(String islandName, Material type) {
+        TrackedIsland island = islands.get(islandName);
+        if (island == null) {
+            return -1;
+        }
+        long count = island.counts.getCount(type);
+        if (island.netherCounts != null) {
+            count += island.netherCounts.getCount(type);
+        }
+        return count;
+    }
+
+    public void blockAdded(Block block, Material type) {
+        update(block.getLocation(), type, 1);
+    }
+
+    public void blockRemoved(Block block) {
+        update(block.getLocation(), block.getType(), -1);
+    }
+
+    public void blockChanged(Block block, Material oldType, Material newType) {
+        if (oldType != newType) {
+            update(block.getLocation(), oldType, -1);
+            update(block.getLocation(), newType, 1);
+        }
+    }
+
+    private void update(Location location, Material type, int delta) {
+        if (type == Material.AIR || islands.isEmpty()) {
+            return;
+        }
+        String islandName = LocationUtil.getIslandName(LocationUtil.alignToDistance(location.clone(), Settings.island_distance));
+        TrackedIsland island = islands.get(islandName);
+        if (island == null) {
+            return;
+        }
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        if (worldManager.isSkyWorld(location.getWorld())) {
+            if (island.region.contains(x, y, z) && y < island.region.getMaximumPoint().getBlockY()) {
+                island.counts.add(type, delta);
+                island.modified = true;
+            }
+        } else if (island.netherCounts != null && worldManager.isSkyNether(location.getWorld())) {
+            if (island.netherRegion.contains(x, y, z) && y >= NETHER_MIN_Y && y < NETHER_MAX_Y) {
+                island.netherCounts.add(type, delta);
+                island.modified = true;
+            }
+        }
+    }
+
+    /**
+     * Untracks the islands that haven't been fully scanned within the reconcile interval. The ones that changed since
+     * their last scan, and still exist, are re-scanned, which tracks them again. Idle islands are simply dropped, and
+     * tracked again by their next level calculation.
+     */
+    void reconcile() {
+        Instant staleBefore = clock.instant().minus(reconcileEvery);
+        List<String> stale = new ArrayList<>();
+        islands.entrySet().removeIf(entry -> {
+            TrackedIsland island = entry.getValue();
+            if (!island.scanned.isBefore(staleBefore)) {
+                return false;
+            }
+            if (island.modified) {
+                stale.add(entry.getKey());
+            }
+            return true;
+        });
+        if (stale.isEmpty()) {
+            return;
+        }
+        // Looking up the islands might load them from storage
+        scheduler.async(() -> {
+            List<String> existing = stale.stream().filter(this::exists).toList();
+            if (!existing.isEmpty()) {
+                new RecalculateTopTen(plugin, scheduler, existing).run();
+            }
+        });
+    }
+
+    private boolean exists(String islandName) {
+        IslandInfo islandInfo = plugin.getIslandInfo(islandName);
+        return islandInfo != null && islandInfo.exists();
+    }
+
+    private static class TrackedIsland {
+        private final ProtectedRegion region;
+        private final BlockCountCollection counts;
+        private final ProtectedRegion netherRegion;
+        private final BlockCountCollection netherCounts;
+        private final Instant scanned;
+        private boolean modified = false;
+
+        private TrackedIsland(ProtectedRegion region, BlockCountCollection counts, ProtectedRegion netherRegion, BlockCountCollection netherCounts, Instant scanned) {
+            this.region = region;
+            this.scanned = scanned;
+            this.counts = counts;
+            this.netherRegion = netherRegion;
+            this.netherCounts = netherRegion != null ? netherCounts : null;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.Math.max;
+
+/**
+ * Admission queue in front of the {@link LevelLogic}, limiting the number of concurrent level calculations.
+ * <p>
+ * Queued calculations are started by priority, so player requests are not starved by auto-refreshes or a bulk
+ * recalculation of the top-ten. A player requesting calculations more often than the configured interval has the
+ * extra requests joined to a queued or running calculation of the same island, answered with the score of their
+ * previous request of the island, or queued behind the bulk calculations.
+ */
+@Singleton
+public class LevelCalculationQueue {
+
+    public enum Priority {
+        PLAYER,
+        AUTO_REFRESH,
+        BULK
+    }
+
+    private final LevelLogic levelLogic;
+    private final Scheduler scheduler;
+    private final Clock clock;
+    private final int maxConcurrent;
+    private final Duration playerInterval;
+    private final Duration timeout;
+
+    private final PriorityQueue<Request> queue = new PriorityQueue<>();
+    private final List<Request> started = new ArrayList<>();
+    private final Map<UUID, PlayerRequest> lastPlayerRequest = new HashMap<>();
+    private final Map<Priority, Stats> stats = new EnumMap<>(Priority.class);
+    private long sequence = 0;
+    private int running = 0;
+
+    @Inject
+    public LevelCalculationQueue(
+        @NotNull LevelLogic levelLogic,
+        @NotNull PluginConfig config,
+        @NotNull Scheduler scheduler,
+        @NotNull Clock clock
+    ) {
+        this.levelLogic = levelLogic;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        FileConfiguration yaml = config.getYamlConfig();
+        this.maxConcurrent = max(1, yaml.getInt("async.level.maxConcurrent", 2));
+        this.playerInterval = Duration.ofMillis(yaml.getLong("async.level.playerIntervalMs", 10000));
+        this.timeout = Duration.ofMillis(yaml.getLong("async.level.timeoutMs", 120000));
+        for (Priority priority : Priority.values()) {
+            stats.put(priority, new Stats());
+        }
+    }
+
+    /**
+     * Queues a level calculation of the island at the location.
+     *
+     * @param playerId The player requesting the calculation, used for rate-limiting player requests.
+     */
+    public void calculateScoreAsync(@NotNull Location location, @NotNull Priority priority, @Nullable UUID playerId,
+                                    @NotNull Callback<IslandScore> callback) {
+        synchronized (this) {
+            Instant now = clock.instant();
+            if (priority == Priority.PLAYER && playerId != null) {
+                lastPlayerRequest.values().removeIf(last -> !last.at.plus(playerInterval).isAfter(now));
+                PlayerRequest last = lastPlayerRequest.get(playerId);
+                if (last != null) {
+                    Request active = findActive(location);
+                    if (active != null) {
+                        active.callbacks.add(callback);
+                        return;
+                    }
+                    if (last.location.equals(location) && last.score != null) {
+                        callback.setState(last.score);
+                        scheduler.sync(callback);
+                        return;
+                    }
+                    priority = Priority.BULK;
+                } else {
+                    lastPlayerRequest.put(playerId, new PlayerRequest(location, now));
+                }
+            }
+            List<Callback<IslandScore>> callbacks = new ArrayList<>();
+            callbacks.add(callback);
+            queue.add(new Request(location, priority, callbacks, now, sequence++));
+            stats.get(priority).queued++;
+        }
+        dispatch();
+    }
+
+    private @Nullable Request findActive(Location location) {
+        for (Request request : started) {
+            if (request.location.equals(location)) {
+                return request;
+            }
+        }
+        for (Request request : queue) {
+            if (request.location.equals(location)) {
+                return request;
+            }
+        }
+        return null;
+    }
+
+    private void dispatch() {
+        List<Request> starting = new ArrayList<>();
+        synchronized (this) {
+            Instant now = clock.instant();
+            while (running < maxConcurrent && !queue.isEmpty()) {
+                Request request = queue.poll();
+                Stats requestStats = stats.get(request.priority);
+                requestStats.queued--;
+                requestStats.started(Duration.between(request.queuedAt, now));
+                running++;
+                started.add(request);
+                starting.add(request);
+            }
+        }
+        for (Request request : starting) {
+            start(request);
+        }
+    }
+
+    private void start(Request request) {
+        AtomicBoolean released = new AtomicBoolean(false);
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                synchronized (this) {
+                    running--;
+                }
+                dispatch();
+            }
+        };
+        // Calculations that hang never call back, so don't hold the slot forever
+        scheduler.async(() -> {
+            synchronized (this) {
+                started.remove(request);
+            }
+            release.run();
+        }, timeout);
+        try {
+            levelLogic.calculateScoreAsync(request.location, new Callback<>() {
+                @Override
+                public void run() {
+                    List<Callback<IslandScore>> callbacks;
+                    synchronized (LevelCalculationQueue.this) {
+                        started.remove(request);
+                        callbacks = List.copyOf(request.callbacks);
+                        if (getState() != null) {
+                            for (PlayerRequest last : lastPlayerRequest.values()) {
+                                if (last.location.equals(request.location)) {
+                                    last.score = getState();
+                                }
+                            }
+                        }
+                    }
+                    release.run();
+                    for (Callback<IslandScore> callback : callbacks) {
+                        callback.setState(getState());
+                        callback.run();
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                started.remove(request);
+            }
+            release.run();
+            throw e;
+        }
+    }
+
+    public synchronized void shutdown() {
+        queue.clear();
+        started.clear();
+        lastPlayerRequest.clear();
+    }
+
+    public synchronized int getRunning() {
+        return running;
+    }
+
+    public synchronized int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * @return The number of queued calculations, and their wait times, per priority.
+     */
+    public synchronized Map<Priority, Stats> getStats() {
+        Map<Priority, Stats> copy = new EnumMap<>(Priority.class);
+        stats.forEach((priority, stat) -> copy.put(priority, new Stats(stat)));
+        return copy;
+    }
+
+    public static class Stats {
+        private int queued;
+        private long started;
+        private Duration totalWait = Duration.ZERO;
+        private Duration maxWait = Duration.ZERO;
+
+        private Stats() {
+        }
+
+        private Stats(Stats other) {
+            queued = other.queued;
+            started = other.started;
+            totalWait = other.totalWait;
+            maxWait = other.maxWait;
+        }
+
+        private void started(Duration wait) {
+            started++;
+            totalWait = totalWait.plus(wait);
+            if (wait.compareTo(maxWait) > 0) {
+                maxWait = wait;
+            }
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public long getStarted() {
+            return started;
+        }
+
+        public Duration getAvgWait() {
+            return totalWait.dividedBy(max(1, started));
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+    }
+
+    private static class PlayerRequest {
+        private final Location location;
+        private final Instant at;
+        private IslandScore score = null;
+
+        private PlayerRequest(Location location, Instant at) {
+            this.location = location;
+            this.at = at;
+        }
+    }
+
+    private record Request(Location location, Priority priority, List<Callback<IslandScore>> callbacks, Instant queuedAt,
+                           long sequence) implements Comparable<Request> {
+        @Override
+        public int compareTo(@NotNull Request other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -5,4 +5,7 @@ import us.talabrek.ultimateskyblock.api.async.Callback;
 
 public interface LevelLogic {
     void calculateScoreAsync(Location l, Callback<IslandScore> callback);
+
+    default void shutdown() {
+    }
 }
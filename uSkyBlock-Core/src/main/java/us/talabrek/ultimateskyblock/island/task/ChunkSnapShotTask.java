@@ -3,50 +3,129 @@ package us.talabrek.ultimateskyblock.island.task;
 import com.sk89q.worldedit.math.BlockVector2;
 import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import io.papermc.lib.PaperLib;
 import org.bukkit.Chunk;
 import org.bukkit.ChunkSnapshot;
 import org.bukkit.Location;
+import org.bukkit.World;
 import us.talabrek.ultimateskyblock.PluginConfig;
-import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.async.IncrementalRunnable;
 import us.talabrek.ultimateskyblock.handler.WorldEditHandler;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * Incremental task for snapshotting chunks.
+ * <p>
+ * The snapshots taken in each run are handed over to the consumer, instead of being held until all chunks are
+ * snapshotted. Every snapshot takes a permit from the shared semaphore, which the consumer must release once it is
+ * done with the snapshot. When no permits are available, the task yields until its next run.
+ * <p>
+ * Unloaded chunks are loaded asynchronously, and snapshotted in a later run once they are loaded, so the main
+ * thread never waits for chunk I/O. When only chunk loads are left, the task is suspended, and resumed by the
+ * loads as they complete.
  */
 public class ChunkSnapShotTask extends IncrementalRunnable {
-    private final Location location;
-    private final List<BlockVector2> chunks;
-    private final List<ChunkSnapshot> snapshots = new ArrayList<>();
+    private final World world;
+    private final Queue<BlockVector2> chunks;
+    private final Queue<CompletableFuture<Chunk>> loaded = new ConcurrentLinkedQueue<>();
+    private final Semaphore snapshotPermits;
+    private final Consumer<List<ChunkSnapshot>> consumer;
+    private int loading = 0;
 
-    public ChunkSnapShotTask(Scheduler scheduler, PluginConfig config, Location location, ProtectedRegion region, final Callback<List<ChunkSnapshot>> callback) {
-        super(scheduler, config, callback);
-        this.location = location;
+    /**
+     * @param skip Chunks matching this predicate are not snapshotted (i.e. because their counts are already cached).
+     */
+    public ChunkSnapShotTask(Scheduler scheduler, PluginConfig config, Location location, ProtectedRegion region, Predicate<BlockVector2> skip,
+                             Semaphore snapshotPermits, Consumer<List<ChunkSnapshot>> consumer, Runnable onCompletion) {
+        super(scheduler, config, onCompletion);
+        this.world = location.getWorld();
+        this.snapshotPermits = snapshotPermits;
+        this.consumer = consumer;
+        chunks = new ArrayDeque<>();
         if (region != null) {
-            chunks = new ArrayList<>(WorldEditHandler.getChunks(new CuboidRegion(region.getMinimumPoint(), region.getMaximumPoint())));
-        } else {
-            chunks = new ArrayList<>();
+            for (BlockVector2 chunk : WorldEditHandler.getChunks(new CuboidRegion(region.getMinimumPoint(), region.getMaximumPoint()))) {
+                if (!skip.test(chunk)) {
+                    chunks.add(chunk);
+                }
+            }
         }
-        callback.setState(snapshots);
     }
 
     @Override
     protected boolean execute() {
-        while (!chunks.isEmpty()) {
-            BlockVector2 chunkVector = chunks.remove(0);
-            Chunk chunk = location.getWorld().getChunkAt(chunkVector.getBlockX(), chunkVector.getBlockZ());
-            if (!chunk.isLoaded()) {
-                chunk.load();
+        List<ChunkSnapshot> snapshots = new ArrayList<>();
+        try {
+            if (snapshotLoaded(snapshots)) {
+                while (!chunks.isEmpty() && snapshotPermits.tryAcquire()) {
+                    BlockVector2 chunkVector = chunks.poll();
+                    int chunkX = chunkVector.getBlockX();
+                    int chunkZ = chunkVector.getBlockZ();
+                    if (world.isChunkLoaded(chunkX, chunkZ)) {
+                        snapshots.add(world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+                    } else {
+                        load(chunkX, chunkZ);
+                    }
+                    if (!tick()) {
+                        break;
+                    }
+                }
+            }
+        } finally {
+            if (!snapshots.isEmpty()) {
+                consumer.accept(snapshots);
+            }
+        }
+        if (chunks.isEmpty() && loading == 0) {
+            return true;
+        }
+        if (chunks.isEmpty() && loaded.isEmpty()) {
+            suspend();
+            // A load completing before the suspend didn't resume the task
+            if (!loaded.isEmpty()) {
+                resume();
+            }
+        }
+        return false;
+    }
+
+    private void load(int chunkX, int chunkZ) {
+        loading++;
+        CompletableFuture<Chunk> future = PaperLib.getChunkAtAsync(world, chunkX, chunkZ, true);
+        future.whenComplete((chunk, e) -> {
+            loaded.add(future);
+            resume();
+        });
+    }
+
+    /**
+     * Snapshots the chunks that finished loading since the last run.
+     *
+     * @return <code>true</code> if there is still time left in this run.
+     */
+    private boolean snapshotLoaded(List<ChunkSnapshot> snapshots) {
+        CompletableFuture<Chunk> future;
+        while ((future = loaded.poll()) != null) {
+            loading--;
+            Chunk chunk = future.isCompletedExceptionally() ? null : future.join();
+            if (chunk != null) {
+                snapshots.add(chunk.getChunkSnapshot(false, false, false));
+            } else {
+                snapshotPermits.release();
             }
-            snapshots.add(chunk.getChunkSnapshot(false, false, false));
             if (!tick()) {
-                break;
+                return false;
             }
         }
-        return chunks.isEmpty();
+        return true;
     }
 }
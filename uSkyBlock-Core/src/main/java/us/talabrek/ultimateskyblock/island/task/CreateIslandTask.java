@@ -30,11 +30,11 @@ public class CreateIslandTask extends BukkitRunnable {
 
     @Override
     public void run() {
-        if (!plugin.getIslandGenerator().createIsland(playerPerk, next, cSchem)) {
-            player.sendMessage(tr("Unable to locate schematic {0}, contact a server-admin", cSchem));
-        }
         GenerateTask generateTask = new GenerateTask(plugin, player, playerPerk.getPlayerInfo(), next, playerPerk, cSchem);
         final BukkitRunnable completionWatchDog = new LocateChestTask(plugin, player, next, generateTask);
-        completionWatchDog.runTask(plugin);
+        if (!plugin.getIslandGenerator().createIsland(playerPerk, next, cSchem, () -> completionWatchDog.runTaskTimer(plugin, 0, 20))) {
+            player.sendMessage(tr("Unable to locate schematic {0}, contact a server-admin", cSchem));
+            completionWatchDog.runTaskTimer(plugin, 0, 20);
+        }
     }
 }
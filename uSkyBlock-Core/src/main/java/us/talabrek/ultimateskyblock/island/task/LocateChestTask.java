@@ -7,10 +7,10 @@ import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
-import us.talabrek.ultimateskyblock.util.Scheduler;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.function.Consumer;
 
 /**
  * A task that looks for a chest at an island location.
@@ -18,14 +18,22 @@ import java.time.Instant;
 public class LocateChestTask extends BukkitRunnable {
     private final Player player;
     private final Location islandLocation;
-    private final GenerateTask onCompletion;
-    private final Scheduler scheduler;
+    private final Consumer<Location> onCompletion;
     private final Instant timeout;
 
     private Instant start;
 
     public LocateChestTask(uSkyBlock plugin, Player player, Location islandLocation, GenerateTask onCompletion) {
-        this.scheduler = plugin.getScheduler();
+        this(plugin, player, islandLocation, chestLocation -> {
+            onCompletion.setChestLocation(chestLocation);
+            plugin.getScheduler().sync(onCompletion);
+        });
+    }
+
+    /**
+     * @param onCompletion Called with the chest location, or <code>null</code> if none was found before the timeout.
+     */
+    public LocateChestTask(uSkyBlock plugin, Player player, Location islandLocation, Consumer<Location> onCompletion) {
         this.player = player;
         this.islandLocation = islandLocation;
         this.onCompletion = onCompletion;
@@ -47,8 +55,7 @@ public class LocateChestTask extends BukkitRunnable {
                 player.sendMessage(I18nUtil.tr("\u00a7cWatchdog!\u00a79 Unable to locate a chest within {0}, bailing out.", TimeUtil.durationAsString(Duration.between(start, timeout))));
             }
             if (onCompletion != null) {
-                onCompletion.setChestLocation(chestLocation);
-                scheduler.sync(onCompletion);
+                onCompletion.accept(chestLocation);
             }
         }
     }
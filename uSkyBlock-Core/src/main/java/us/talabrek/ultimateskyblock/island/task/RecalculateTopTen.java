@@ -3,6 +3,7 @@ package us.talabrek.ultimateskyblock.island.task;
 import org.bukkit.scheduler.BukkitRunnable;
 import us.talabrek.ultimateskyblock.api.async.Callback;
 import us.talabrek.ultimateskyblock.api.event.uSkyBlockEvent;
+import us.talabrek.ultimateskyblock.island.level.LevelCalculationQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.Scheduler;
 
@@ -14,8 +15,14 @@ public class RecalculateTopTen extends BukkitRunnable {
     private final Queue<String> locations;
     private final uSkyBlock plugin;
     private final Scheduler scheduler;
+    private final LevelCalculationQueue.Priority priority;
 
     public RecalculateTopTen(uSkyBlock plugin, Scheduler scheduler, Collection<String> locations) {
+        this(plugin, scheduler, locations, LevelCalculationQueue.Priority.BULK);
+    }
+
+    public RecalculateTopTen(uSkyBlock plugin, Scheduler scheduler, Collection<String> locations, LevelCalculationQueue.Priority priority) {
+        this.priority = priority;
         this.locations = new ConcurrentLinkedQueue<>(locations);
         this.plugin = plugin;
         this.scheduler = scheduler;
@@ -25,7 +32,7 @@ public class RecalculateTopTen extends BukkitRunnable {
     public void run() {
         String islandName = locations.poll();
         if (islandName != null) {
-            plugin.calculateScoreAsync(null, islandName, new Callback<>() {
+            plugin.calculateScoreAsync(null, islandName, priority, new Callback<>() {
                 @Override
                 public void run() {
                     // We use the deprecated on purpose (the other would fail).
@@ -1,13 +1,16 @@
 package us.talabrek.ultimateskyblock.player;
 
 import com.google.inject.Inject;
+import com.google.inject.Singleton;
 import net.kyori.adventure.platform.bukkit.BukkitAudiences;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 
+@Singleton
 public class NotificationManager {
     private final BukkitAudiences audiences;
     private LegacyComponentSerializer legacySerializer;
@@ -49,6 +52,16 @@ public class NotificationManager {
         audiences.player(player).sendActionBar(component);
     }
 
+    /**
+     * Sends the given {@link Component} as chat message to the {@link CommandSender}.
+     *
+     * @param sender    CommandSender to send the given message to
+     * @param component Component to send to the given sender
+     */
+    public void sendMessage(@NotNull CommandSender sender, @NotNull Component component) {
+        audiences.sender(sender).sendMessage(component);
+    }
+
     public void shutdown() {
         audiences.close();
     }
@@ -1,6 +1,5 @@
 package us.talabrek.ultimateskyblock.player;
 
-import dk.lockfuglsang.minecraft.file.FileUtil;
 import dk.lockfuglsang.minecraft.util.TimeUtil;
 import org.apache.commons.lang3.Validate;
 import org.bukkit.ChatColor;
@@ -17,6 +16,9 @@ import us.talabrek.ultimateskyblock.challenge.Challenge;
 import us.talabrek.ultimateskyblock.challenge.ChallengeCompletion;
 import us.talabrek.ultimateskyblock.hook.permissions.PermissionsHook;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.LocationUtil;
 import us.talabrek.ultimateskyblock.util.LogUtil;
@@ -24,11 +26,9 @@ import us.talabrek.ultimateskyblock.util.Scheduler;
 import us.talabrek.ultimateskyblock.util.UUIDUtil;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.Serial;
 import java.io.Serializable;
-import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -56,12 +56,15 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
     private Location homeLocation;
 
     private final FileConfiguration playerData;
-    private final File playerConfigFile;
+    private final DocumentStore store;
+    private final WriteBehindQueue writer;
+    private final String storeKey;
+    private volatile boolean stored;
 
     private boolean islandGenerating = false;
-    private boolean dirty = false;
+    private volatile boolean dirty = false;
 
-    public PlayerInfo(String currentPlayerName, UUID playerUUID, uSkyBlock plugin, Path playerDataDirectory) {
+    public PlayerInfo(String currentPlayerName, UUID playerUUID, uSkyBlock plugin, DocumentStore store, WriteBehindQueue writer) {
         this.plugin = plugin;
         this.scheduler = plugin.getScheduler();
         this.uuid = playerUUID;
@@ -69,14 +72,14 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
         // Prefer UUID over Name
         // TODO: decouple serialization from player data.
         // TODO: remove legacy player name support - all data should be converted by now.
-        playerConfigFile = playerDataDirectory.resolve(UUIDUtil.asString(playerUUID) + ".yml").toFile();
-        File nameFile = playerDataDirectory.resolve(playerName + ".yml").toFile();
-        if (!playerConfigFile.exists() && nameFile.exists() && !currentPlayerName.equals(PlayerDB.UNKNOWN_PLAYER_NAME)) {
-            nameFile.renameTo(playerConfigFile);
-        }
+        this.store = store;
+        this.writer = writer;
+        storeKey = UUIDUtil.asString(playerUUID);
         playerData = new YamlConfiguration();
-        if (playerConfigFile.exists()) {
-            FileUtil.readConfig(playerData, playerConfigFile);
+        stored = store.load(DocumentKind.PLAYER, storeKey, playerData);
+        if (!stored && !currentPlayerName.equals(PlayerDB.UNKNOWN_PLAYER_NAME)
+            && store.rename(DocumentKind.PLAYER, playerName, storeKey)) {
+            stored = store.load(DocumentKind.PLAYER, storeKey, playerData);
         }
         loadPlayer();
     }
@@ -205,6 +208,7 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
     }
 
     private void setupPlayer() {
+        dirty = false;
         FileConfiguration playerConfig = playerData;
         ConfigurationSection pSection = playerConfig.createSection("player");
         pSection.set("islandX", 0);
@@ -254,8 +258,10 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
 
     public void save() {
         dirty = true;
-        if (!playerConfigFile.exists()) {
+        if (!stored) {
             saveToFile();
+        } else {
+            enqueueSave();
         }
     }
 
@@ -263,14 +269,24 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
         return dirty;
     }
 
+    /**
+     * Writes the player on the calling thread.
+     */
     public void saveToFile() {
-        log.fine("Saving player-info for " + playerName + " to file");
-        // TODO: 11/05/2015 - R4zorax: Instead of saving directly, schedule it for later...
-        log.entering(CN, "save", playerName);
+        enqueueSave();
+        writer.writeNow(DocumentKind.PLAYER, storeKey);
+    }
+
+    /**
+     * Schedules the write of the player, replacing any pending write. The player is serialized on the calling thread,
+     * so the writer never reads the config while it is being changed.
+     */
+    private void enqueueSave() {
         if (playerData == null) {
-            LogUtil.log(Level.INFO, "Can't save player data! (" + playerName + ", " + uuid + ", " + playerConfigFile + ")");
+            LogUtil.log(Level.INFO, "Can't save player data! (" + playerName + ", " + uuid + ")");
             return;
         }
+        dirty = false;
         FileConfiguration playerConfig = playerData;
         playerConfig.set("version", YML_VERSION);
         playerConfig.set("player.hasIsland", null); // Remove it (deprecated)
@@ -300,14 +316,22 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
             playerConfig.set("player.homeYaw", 0);
             playerConfig.set("player.homePitch", 0);
         }
+        String data = playerConfig.saveToString();
+        writer.enqueue(DocumentKind.PLAYER, storeKey, () -> writeDocument(data), () -> stored = true);
+    }
+
+    private void writeDocument(String data) {
+        log.fine("Saving player-info for " + playerName + " to file");
+        log.entering(CN, "save", playerName);
         try {
-            playerConfig.save(playerConfigFile);
+            store.save(DocumentKind.PLAYER, storeKey, data);
             LogUtil.log(Level.FINEST, "Player data saved!");
         } catch (IOException ex) {
-            uSkyBlock.getInstance().getLogger().log(Level.SEVERE, "Could not save config to " + playerConfigFile, ex);
+            // The writer keeps the write pending, and retries it
+            throw new IllegalStateException("Could not save player data for " + storeKey, ex);
+        } finally {
+            log.exiting(CN, "save");
         }
-        log.exiting(CN, "save");
-        dirty = false;
     }
 
     @Override
@@ -359,7 +383,7 @@ public class PlayerInfo implements Serializable, us.talabrek.ultimateskyblock.ap
     }
 
     public long getLastSaved() {
-        return playerConfigFile.lastModified();
+        return store.getLastModified(DocumentKind.PLAYER, storeKey);
     }
 
     public void addTrust(String name) {
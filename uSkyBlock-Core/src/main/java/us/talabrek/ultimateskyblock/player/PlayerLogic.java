@@ -7,21 +7,20 @@ import com.google.common.cache.RemovalListener;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 import us.talabrek.ultimateskyblock.PluginConfig;
-import us.talabrek.ultimateskyblock.bootstrap.PluginDataDir;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+import us.talabrek.ultimateskyblock.storage.WriteBehindQueue;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.util.UUIDUtil;
 import us.talabrek.ultimateskyblock.uuid.PlayerDB;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.time.Duration;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
@@ -37,7 +36,6 @@ import static dk.lockfuglsang.minecraft.po.I18nUtil.tr;
 public class PlayerLogic {
     private final LoadingCache<UUID, PlayerInfo> playerCache;
     private final uSkyBlock plugin;
-    private final BukkitTask saveTask;
     private final PlayerDB playerDB;
     private final PerkLogic perkLogic;
     private final IslandLogic islandLogic;
@@ -46,7 +44,8 @@ public class PlayerLogic {
     private final Scheduler scheduler;
     private final NotificationManager notificationManager;
     private final Logger logger;
-    private final Path playerDataDirectory;
+    private final DocumentStore store;
+    private final WriteBehindQueue writer;
 
     @Inject
     public PlayerLogic(
@@ -60,7 +59,8 @@ public class PlayerLogic {
         @NotNull TeleportLogic teleportLogic,
         @NotNull Scheduler scheduler,
         @NotNull NotificationManager notificationManager,
-        @NotNull @PluginDataDir Path pluginDataDir
+        @NotNull DocumentStore store,
+        @NotNull WriteBehindQueue writer
     ) {
         this.plugin = plugin;
         this.playerDB = playerDB;
@@ -71,12 +71,8 @@ public class PlayerLogic {
         this.scheduler = scheduler;
         this.notificationManager = notificationManager;
         this.logger = logger;
-        this.playerDataDirectory = pluginDataDir.resolve("players");
-        try {
-            Files.createDirectories(playerDataDirectory);
-        } catch (IOException e) {
-            logger.log(Level.SEVERE, "Failed to create player data directory", e);
-        }
+        this.store = store;
+        this.writer = writer;
 
         this.playerCache = CacheBuilder
             .from(config.getYamlConfig().getString("options.advanced.playerCache", "maximumSize=200,expireAfterWrite=15m,expireAfterAccess=10m"))
@@ -84,28 +80,18 @@ public class PlayerLogic {
                 logger.fine("Removing player-info for " + removal.getKey() + " from cache");
                 PlayerInfo playerInfo = removal.getValue();
                 if (playerInfo.isDirty()) {
-                    playerInfo.saveToFile();
+                    playerInfo.save();
                 }
             })
             .build(new CacheLoader<>() {
                        @Override
                        public @NotNull PlayerInfo load(@NotNull UUID s) {
                            logger.fine("Loading player-info from " + s + " into cache!");
+                           writer.writeNow(DocumentKind.PLAYER, UUIDUtil.asString(s));
                            return loadPlayerData(s);
                        }
                    }
             );
-        Duration every = Duration.ofSeconds(plugin.getConfig().getInt("options.advanced.player.saveEvery", 2 * 60));
-        this.saveTask = scheduler.async(this::saveDirtyToFiles, every, every);
-    }
-
-    private void saveDirtyToFiles() {
-        // asMap.values() should NOT touch the cache.
-        for (PlayerInfo pi : playerCache.asMap().values()) {
-            if (pi.isDirty()) {
-                pi.saveToFile();
-            }
-        }
     }
 
     private PlayerInfo loadPlayerData(UUID uuid) {
@@ -116,7 +102,7 @@ public class PlayerLogic {
     }
 
     private PlayerInfo loadUnknownPlayer() {
-        return new PlayerInfo(PlayerDB.UNKNOWN_PLAYER_NAME, PlayerDB.UNKNOWN_PLAYER_UUID, plugin, playerDataDirectory);
+        return new PlayerInfo(PlayerDB.UNKNOWN_PLAYER_NAME, PlayerDB.UNKNOWN_PLAYER_UUID, plugin, store, writer);
     }
 
     private PlayerInfo loadPlayerData(UUID playerUUID, String playerName) {
@@ -128,7 +114,7 @@ public class PlayerLogic {
         }
         logger.log(Level.FINER, "Loading player data for " + playerUUID + "/" + playerName);
 
-        final PlayerInfo playerInfo = new PlayerInfo(playerName, playerUUID, plugin, playerDataDirectory);
+        final PlayerInfo playerInfo = new PlayerInfo(playerName, playerUUID, plugin, store, writer);
 
         final Player onlinePlayer = uSkyBlock.getInstance().getPlayerDB().getPlayer(playerUUID);
         if (onlinePlayer != null && onlinePlayer.isOnline()) {
@@ -194,23 +180,18 @@ public class PlayerLogic {
     }
 
     public void shutdown() {
-        saveTask.cancel();
         flushCache();
         notificationManager.shutdown();
     }
 
     public long flushCache() {
         long size = playerCache.size();
-        playerCache.invalidateAll();
+        playerCache.invalidateAll(); // Queues the dirty players for writing
         return size;
     }
 
     public int getSize() {
-        try (var stream = Files.list(playerDataDirectory)) {
-            return (int) stream.count();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return store.count(DocumentKind.PLAYER);
     }
 
     public @NotNull NotificationManager getNotificationManager() {
@@ -0,0 +1,25 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The kinds of documents kept in a {@link DocumentStore}.
+ */
+public enum DocumentKind {
+    ISLAND("islands"),
+    PLAYER("players"),
+    COMPLETION("completion");
+
+    private final String name;
+
+    DocumentKind(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The name of the directory or table partition holding the documents.
+     */
+    public @NotNull String getName() {
+        return name;
+    }
+}
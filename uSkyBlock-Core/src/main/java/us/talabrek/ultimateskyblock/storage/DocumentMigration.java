@@ -0,0 +1,77 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copies all documents from one {@link DocumentStore} to another, in batches.
+ */
+public class DocumentMigration {
+    private static final int BATCH_SIZE = 500;
+
+    private final DocumentStore from;
+    private final DocumentStore to;
+    private final Logger logger;
+    private int migrated = 0;
+    private int failed = 0;
+
+    public DocumentMigration(@NotNull DocumentStore from, @NotNull DocumentStore to, @NotNull Logger logger) {
+        this.from = from;
+        this.to = to;
+        this.logger = logger;
+    }
+
+    /**
+     * Copies the documents of every kind, overwriting existing documents with the same key.
+     *
+     * @param progress Called with the number of documents processed so far, and the total number of documents.
+     */
+    public void run(@NotNull BiConsumer<Integer, Integer> progress) {
+        int total = 0;
+        for (DocumentKind kind : DocumentKind.values()) {
+            total += from.count(kind);
+        }
+        int done = 0;
+        for (DocumentKind kind : DocumentKind.values()) {
+            List<String> keys = from.getKeys(kind);
+            for (int offset = 0; offset < keys.size(); offset += BATCH_SIZE) {
+                List<String> batch = keys.subList(offset, Math.min(offset + BATCH_SIZE, keys.size()));
+                to.batch(() -> {
+                    for (String key : batch) {
+                        copy(kind, key);
+                    }
+                });
+                done += batch.size();
+                progress.accept(done, total);
+            }
+        }
+    }
+
+    private void copy(DocumentKind kind, String key) {
+        FileConfiguration config = new YamlConfiguration();
+        try {
+            if (from.load(kind, key, config)) {
+                to.save(kind, key, config);
+                migrated++;
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "Unable to migrate " + kind.getName() + "/" + key, e);
+            failed++;
+        }
+    }
+
+    public int getMigrated() {
+        return migrated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+}
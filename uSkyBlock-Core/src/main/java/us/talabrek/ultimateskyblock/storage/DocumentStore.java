@@ -0,0 +1,70 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Storage of the island, player and challenge-completion documents.
+ * <p>
+ * A document is a YAML configuration identified by its {@link DocumentKind} and key, i.e. the island name or the
+ * player uuid. Implementations must be safe to use from both the main thread and async tasks.
+ */
+public interface DocumentStore extends AutoCloseable {
+
+    /**
+     * @return The storage type of this store, as configured in <code>options.advanced.storage</code>.
+     */
+    @NotNull StorageType getType();
+
+    boolean exists(@NotNull DocumentKind kind, @NotNull String key);
+
+    /**
+     * Loads the document into the given configuration.
+     *
+     * @return <code>true</code> if the document exists.
+     */
+    boolean load(@NotNull DocumentKind kind, @NotNull String key, @NotNull FileConfiguration config);
+
+    default void save(@NotNull DocumentKind kind, @NotNull String key, @NotNull FileConfiguration config) throws IOException {
+        save(kind, key, config.saveToString());
+    }
+
+    /**
+     * Saves a document already serialized with {@link FileConfiguration#saveToString()}.
+     */
+    void save(@NotNull DocumentKind kind, @NotNull String key, @NotNull String data) throws IOException;
+
+    /**
+     * @return <code>true</code> if the document existed.
+     */
+    boolean delete(@NotNull DocumentKind kind, @NotNull String key);
+
+    /**
+     * Moves a document to a new key, unless a document already exists with that key.
+     *
+     * @return <code>true</code> if the document was moved.
+     */
+    boolean rename(@NotNull DocumentKind kind, @NotNull String fromKey, @NotNull String toKey);
+
+    @NotNull List<String> getKeys(@NotNull DocumentKind kind);
+
+    int count(@NotNull DocumentKind kind);
+
+    /**
+     * @return The time in epoch millis the document was last saved, or <code>0</code> if it doesn't exist.
+     */
+    long getLastModified(@NotNull DocumentKind kind, @NotNull String key);
+
+    /**
+     * Runs the writes as a single batch, committed in one transaction where the store supports it.
+     *
+     * @throws IllegalStateException if the batch couldn't be committed, and was rolled back.
+     */
+    void batch(@NotNull Runnable writes);
+
+    @Override
+    void close();
+}
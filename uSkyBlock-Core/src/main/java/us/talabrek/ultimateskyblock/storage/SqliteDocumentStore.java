@@ -0,0 +1,252 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the documents as YAML text in an embedded SQLite database, using the driver bundled with the server.
+ * <p>
+ * The documents are keyed on <code>(kind, id)</code>, so lookups, listing and counting use the primary key index
+ * instead of the file system. All access goes through a single connection, which is only locked per statement, so
+ * the documents are serialized outside the lock. Writes made within {@link #batch(Runnable)} are committed in one
+ * transaction. Other threads can read while a batch is in progress, but their writes wait for the batch to finish,
+ * so they are never committed or rolled back with it.
+ */
+public class SqliteDocumentStore implements DocumentStore {
+    private final Logger logger;
+    private final Connection connection;
+    private final ReentrantLock batchLock = new ReentrantLock();
+
+    public SqliteDocumentStore(@NotNull Path databaseFile, @NotNull Logger logger) throws IOException {
+        this.logger = logger;
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            // Let the DriverManager find a driver
+        }
+        try {
+            connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.toAbsolutePath());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode=WAL");
+                statement.execute("PRAGMA synchronous=NORMAL");
+                statement.execute("CREATE TABLE IF NOT EXISTS documents ("
+                    + "kind TEXT NOT NULL, "
+                    + "id TEXT NOT NULL, "
+                    + "modified INTEGER NOT NULL, "
+                    + "data TEXT NOT NULL, "
+                    + "PRIMARY KEY (kind, id)"
+                    + ") WITHOUT ROWID");
+            }
+        } catch (SQLException e) {
+            throw new IOException("Unable to open the database " + databaseFile, e);
+        }
+    }
+
+    @Override
+    public @NotNull StorageType getType() {
+        return StorageType.SQLITE;
+    }
+
+    @Override
+    public synchronized boolean exists(@NotNull DocumentKind kind, @NotNull String key) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM documents WHERE kind = ? AND id = ?")) {
+            statement.setString(1, kind.getName());
+            statement.setString(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to look up " + kind.getName() + "/" + key, e);
+        }
+    }
+
+    @Override
+    public boolean load(@NotNull DocumentKind kind, @NotNull String key, @NotNull FileConfiguration config) {
+        String data;
+        synchronized (this) {
+            try (PreparedStatement statement = connection.prepareStatement("SELECT data FROM documents WHERE kind = ? AND id = ?")) {
+                statement.setString(1, kind.getName());
+                statement.setString(2, key);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return false;
+                    }
+                    data = resultSet.getString(1);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to load " + kind.getName() + "/" + key, e);
+            }
+        }
+        try {
+            config.loadFromString(data);
+        } catch (InvalidConfigurationException e) {
+            logger.log(Level.SEVERE, "Unable to read " + kind.getName() + "/" + key, e);
+        }
+        return true;
+    }
+
+    @Override
+    public void save(@NotNull DocumentKind kind, @NotNull String key, @NotNull String data) throws IOException {
+        batchLock.lock();
+        try {
+            synchronized (this) {
+                try (PreparedStatement statement = connection.prepareStatement("INSERT OR REPLACE INTO documents (kind, id, modified, data) VALUES (?, ?, ?, ?)")) {
+                    statement.setString(1, kind.getName());
+                    statement.setString(2, key);
+                    statement.setLong(3, System.currentTimeMillis());
+                    statement.setString(4, data);
+                    statement.executeUpdate();
+                } catch (SQLException e) {
+                    throw new IOException("Unable to save " + kind.getName() + "/" + key, e);
+                }
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(@NotNull DocumentKind kind, @NotNull String key) {
+        batchLock.lock();
+        try {
+            synchronized (this) {
+                try (PreparedStatement statement = connection.prepareStatement("DELETE FROM documents WHERE kind = ? AND id = ?")) {
+                    statement.setString(1, kind.getName());
+                    statement.setString(2, key);
+                    return statement.executeUpdate() > 0;
+                } catch (SQLException e) {
+                    logger.log(Level.WARNING, "Unable to delete " + kind.getName() + "/" + key, e);
+                    return false;
+                }
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean rename(@NotNull DocumentKind kind, @NotNull String fromKey, @NotNull String toKey) {
+        batchLock.lock();
+        try {
+            synchronized (this) {
+                try (PreparedStatement statement = connection.prepareStatement("UPDATE OR IGNORE documents SET id = ? WHERE kind = ? AND id = ?")) {
+                    statement.setString(1, toKey);
+                    statement.setString(2, kind.getName());
+                    statement.setString(3, fromKey);
+                    return statement.executeUpdate() > 0;
+                } catch (SQLException e) {
+                    logger.log(Level.WARNING, "Unable to rename " + kind.getName() + "/" + fromKey + " to " + toKey, e);
+                    return false;
+                }
+            }
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    @Override
+    public synchronized @NotNull List<String> getKeys(@NotNull DocumentKind kind) {
+        List<String> keys = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT id FROM documents WHERE kind = ?")) {
+            statement.setString(1, kind.getName());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    keys.add(resultSet.getString(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to list " + kind.getName(), e);
+        }
+        return keys;
+    }
+
+    @Override
+    public synchronized int count(@NotNull DocumentKind kind) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM documents WHERE kind = ?")) {
+            statement.setString(1, kind.getName());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to count " + kind.getName(), e);
+        }
+    }
+
+    @Override
+    public synchronized long getLastModified(@NotNull DocumentKind kind, @NotNull String key) {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT modified FROM documents WHERE kind = ? AND id = ?")) {
+            statement.setString(1, kind.getName());
+            statement.setString(2, key);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to look up " + kind.getName() + "/" + key, e);
+        }
+    }
+
+    @Override
+    public void batch(@NotNull Runnable writes) {
+        if (batchLock.isHeldByCurrentThread()) {
+            writes.run();
+            return;
+        }
+        batchLock.lock();
+        try {
+            setAutoCommit(false);
+            boolean committed = false;
+            try {
+                writes.run();
+                synchronized (this) {
+                    connection.commit();
+                }
+                committed = true;
+            } finally {
+                if (!committed) {
+                    rollback();
+                }
+                setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Unable to commit the batch", e);
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    private synchronized void setAutoCommit(boolean autoCommit) throws SQLException {
+        connection.setAutoCommit(autoCommit);
+    }
+
+    private synchronized void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Unable to roll back the batch", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Unable to close the database", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.logging.Logger;
+
+/**
+ * The available {@link DocumentStore} implementations.
+ */
+public enum StorageType {
+    /**
+     * One YAML file per document, in the <code>islands</code>, <code>players</code> and <code>completion</code> folders.
+     */
+    YML {
+        @Override
+        public @NotNull DocumentStore open(@NotNull Path dataDir, @NotNull Logger logger) throws IOException {
+            return new YmlDocumentStore(dataDir, logger);
+        }
+    },
+    /**
+     * All documents in the embedded SQLite database <code>uskyblock.db</code>.
+     */
+    SQLITE {
+        @Override
+        public @NotNull DocumentStore open(@NotNull Path dataDir, @NotNull Logger logger) throws IOException {
+            return new SqliteDocumentStore(dataDir.resolve("uskyblock.db"), logger);
+        }
+    };
+
+    public abstract @NotNull DocumentStore open(@NotNull Path dataDir, @NotNull Logger logger) throws IOException;
+
+    public static @Nullable StorageType fromName(@Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        String upperName = name.toUpperCase(Locale.ROOT);
+        for (StorageType type : values()) {
+            if (type.name().equals(upperName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,296 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes dirty islands and players to the {@link DocumentStore} from a dedicated writer thread.
+ * <p>
+ * Every document has at most one pending write, enqueuing a document that is already pending replaces the write,
+ * so a document changed many times within the write delay is only saved once. The writer saves the pending writes
+ * in a single {@link DocumentStore#batch(Runnable)}. Writes that fail, or whose batch can't be committed, are pending
+ * again and retried with the next batch, unless the document was enqueued again in the meantime.
+ * <p>
+ * When more than <code>maxPending</code> documents are waiting, threads that may block wait for the writer to
+ * catch up before enqueuing more, the main thread never waits.
+ */
+public class WriteBehindQueue {
+    private static final long MIN_RETRY_DELAY_MS = 1000;
+
+    private final DocumentStore store;
+    private final Logger logger;
+    private final long delayMs;
+    private final int maxPending;
+    private final BooleanSupplier mayBlock;
+    private final Thread writer;
+
+    private final Object lock = new Object();
+    private Map<String, Write> pending = new LinkedHashMap<>();
+    private final Set<String> writing = new HashSet<>();
+    private long submitted = 0;
+    private long completed = 0;
+    private int flushWaiters = 0;
+    private boolean running = true;
+    private boolean retrying = false;
+
+    /**
+     * @param delay      How long the writer waits for more writes to coalesce before saving.
+     * @param maxPending The number of pending documents before enqueuing blocks.
+     * @param mayBlock   Whether the current thread may block when the queue is full.
+     */
+    public WriteBehindQueue(@NotNull DocumentStore store, @NotNull Logger logger, @NotNull Duration delay, int maxPending, @NotNull BooleanSupplier mayBlock) {
+        this.store = store;
+        this.logger = logger;
+        this.delayMs = Math.max(0, delay.toMillis());
+        this.maxPending = Math.max(1, maxPending);
+        this.mayBlock = mayBlock;
+        writer = new Thread(this::run, "uSkyBlock-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static String key(DocumentKind kind, String key) {
+        return kind.getName() + "/" + key;
+    }
+
+    /**
+     * Schedules the write of a document, replacing any pending write of the same document.
+     * The write must only save a snapshot of the document taken by the caller, since it runs on the writer thread
+     * while the document may be changed. After {@link #shutdown()} the write is run on the calling thread.
+     */
+    public void enqueue(@NotNull DocumentKind kind, @NotNull String key, @NotNull Runnable write) {
+        enqueue(kind, key, write, null);
+    }
+
+    /**
+     * Schedules the write of a document, like {@link #enqueue(DocumentKind, String, Runnable)}.
+     * The write signals a failure by throwing, and <code>stored</code> is run once the write has been committed.
+     */
+    public void enqueue(@NotNull DocumentKind kind, @NotNull String key, @NotNull Runnable write, @Nullable Runnable stored) {
+        String id = key(kind, key);
+        Write entry = new Write(write, stored);
+        synchronized (lock) {
+            if (running) {
+                if (!pending.containsKey(id) && pending.size() >= maxPending && mayBlock.getAsBoolean()) {
+                    while (running && pending.size() >= maxPending) {
+                        awaitWriter();
+                    }
+                }
+                if (running) {
+                    pending.put(id, entry);
+                    submitted++;
+                    lock.notifyAll();
+                    return;
+                }
+            }
+        }
+        if (write(id, entry)) {
+            entry.stored();
+        }
+    }
+
+    /**
+     * Runs the pending write of the document on the calling thread, and waits for it if the writer is saving it.
+     * Must be called before loading a document, so a pending write of an evicted copy isn't lost or applied later.
+     */
+    public void writeNow(@NotNull DocumentKind kind, @NotNull String key) {
+        String id = key(kind, key);
+        Write write;
+        synchronized (lock) {
+            while (writing.contains(id)) {
+                awaitWriter();
+            }
+            write = pending.remove(id);
+            if (write == null) {
+                return;
+            }
+            writing.add(id);
+        }
+        boolean written = false;
+        try {
+            written = write(id, write);
+        } finally {
+            synchronized (lock) {
+                writing.remove(id);
+                if (!written) {
+                    pending.putIfAbsent(id, write);
+                }
+                if (pending.isEmpty() && writing.isEmpty()) {
+                    completed = submitted;
+                }
+                lock.notifyAll();
+            }
+        }
+        if (written) {
+            write.stored();
+        }
+    }
+
+    /**
+     * Waits until every write enqueued before the call has been saved.
+     *
+     * @return <code>true</code> if the writes were saved within the timeout.
+     */
+    public boolean flush(@NotNull Duration timeout) {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        synchronized (lock) {
+            long target = submitted;
+            flushWaiters++;
+            lock.notifyAll();
+            try {
+                while (completed < target && running) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    lock.wait(remaining);
+                }
+                return completed >= target || pending.isEmpty();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } finally {
+                flushWaiters--;
+            }
+        }
+    }
+
+    public int getPending() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Saves the pending writes and stops the writer, later writes are run on the calling thread.
+     */
+    public void shutdown() {
+        synchronized (lock) {
+            running = false;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // The writer drains the queue before stopping, unless it was interrupted or the last batch failed
+        Map<String, Write> remaining;
+        synchronized (lock) {
+            remaining = pending;
+            pending = new LinkedHashMap<>();
+        }
+        remaining.forEach((id, write) -> {
+            if (write(id, write)) {
+                write.stored();
+            }
+        });
+    }
+
+    private void run() {
+        while (true) {
+            Map<String, Write> batch;
+            long upTo;
+            synchronized (lock) {
+                try {
+                    while (pending.isEmpty() && running) {
+                        lock.wait();
+                    }
+                    // Failed writes are retried after the delay, even when flushing
+                    long wakeUp = System.currentTimeMillis() + (retrying ? Math.max(delayMs, MIN_RETRY_DELAY_MS) : delayMs);
+                    long remaining;
+                    while (running && (retrying || (flushWaiters == 0 && pending.size() < maxPending))
+                        && (remaining = wakeUp - System.currentTimeMillis()) > 0) {
+                        lock.wait(remaining);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (!running && retrying) {
+                    // Leave the failed writes to shutdown, instead of retrying the batch forever
+                    return;
+                }
+                if (pending.isEmpty()) {
+                    // Taken by writeNow, or the writer is stopping
+                    if (writing.isEmpty()) {
+                        completed = submitted;
+                        lock.notifyAll();
+                    }
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+                writing.addAll(batch.keySet());
+                upTo = submitted;
+                lock.notifyAll();
+            }
+            Map<String, Write> failed = new LinkedHashMap<>();
+            List<Write> written = new ArrayList<>();
+            try {
+                store.batch(() -> batch.forEach((id, write) -> {
+                    if (write(id, write)) {
+                        written.add(write);
+                    } else {
+                        failed.put(id, write);
+                    }
+                }));
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Unable to save " + batch.size() + " documents, retrying", e);
+                written.clear();
+                failed.putAll(batch);
+            } finally {
+                synchronized (lock) {
+                    writing.removeAll(batch.keySet());
+                    failed.forEach(pending::putIfAbsent);
+                    retrying = !failed.isEmpty();
+                    if (!retrying) {
+                        completed = upTo;
+                    }
+                    lock.notifyAll();
+                }
+            }
+            written.forEach(Write::stored);
+        }
+    }
+
+    private boolean write(String id, Write write) {
+        try {
+            write.write.run();
+            return true;
+        } catch (RuntimeException e) {
+            logger.log(Level.SEVERE, "Unable to save " + id, e);
+            return false;
+        }
+    }
+
+    private record Write(Runnable write, @Nullable Runnable onStored) {
+        void stored() {
+            if (onStored != null) {
+                onStored.run();
+            }
+        }
+    }
+
+    private void awaitWriter() {
+        try {
+            lock.wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the writer", e);
+        }
+    }
+}
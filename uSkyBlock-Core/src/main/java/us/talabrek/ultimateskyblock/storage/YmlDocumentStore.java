@@ -0,0 +1,125 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import dk.lockfuglsang.minecraft.file.FileUtil;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Stores every document in its own YAML file, <code>&lt;kind&gt;/&lt;key&gt;.yml</code> in the plugin folder.
+ * <p>
+ * Documents are written to a temporary file that is then renamed over the old file, so a crash while saving never
+ * leaves a truncated document behind.
+ */
+public class YmlDocumentStore implements DocumentStore {
+    private static final String EXTENSION = ".yml";
+    private static final String TEMP_EXTENSION = ".yml.tmp";
+
+    private final Map<DocumentKind, Path> directories = new EnumMap<>(DocumentKind.class);
+
+    public YmlDocumentStore(@NotNull Path dataDir, @NotNull Logger logger) {
+        for (DocumentKind kind : DocumentKind.values()) {
+            Path directory = dataDir.resolve(kind.getName());
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Unable to create directory " + directory, e);
+            }
+            directories.put(kind, directory);
+        }
+    }
+
+    private File getFile(DocumentKind kind, String key) {
+        return directories.get(kind).resolve(key + EXTENSION).toFile();
+    }
+
+    @Override
+    public @NotNull StorageType getType() {
+        return StorageType.YML;
+    }
+
+    @Override
+    public boolean exists(@NotNull DocumentKind kind, @NotNull String key) {
+        return getFile(kind, key).exists();
+    }
+
+    @Override
+    public boolean load(@NotNull DocumentKind kind, @NotNull String key, @NotNull FileConfiguration config) {
+        File file = getFile(kind, key);
+        if (!file.exists()) {
+            return false;
+        }
+        FileUtil.readConfig(config, file);
+        return true;
+    }
+
+    @Override
+    public void save(@NotNull DocumentKind kind, @NotNull String key, @NotNull String data) throws IOException {
+        Path file = getFile(kind, key).toPath();
+        Path tempFile = file.resolveSibling(key + TEMP_EXTENSION);
+        Files.writeString(tempFile, data, StandardCharsets.UTF_8);
+        try {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public boolean delete(@NotNull DocumentKind kind, @NotNull String key) {
+        return getFile(kind, key).delete();
+    }
+
+    @Override
+    public boolean rename(@NotNull DocumentKind kind, @NotNull String fromKey, @NotNull String toKey) {
+        File toFile = getFile(kind, toKey);
+        return !toFile.exists() && getFile(kind, fromKey).renameTo(toFile);
+    }
+
+    @Override
+    public @NotNull List<String> getKeys(@NotNull DocumentKind kind) {
+        List<String> keys = new ArrayList<>();
+        try (Stream<Path> stream = Files.list(directories.get(kind))) {
+            stream.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(EXTENSION))
+                .forEach(name -> keys.add(name.substring(0, name.length() - EXTENSION.length())));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to list " + kind.getName(), e);
+        }
+        return keys;
+    }
+
+    @Override
+    public int count(@NotNull DocumentKind kind) {
+        return getKeys(kind).size();
+    }
+
+    @Override
+    public long getLastModified(@NotNull DocumentKind kind, @NotNull String key) {
+        return getFile(kind, key).lastModified();
+    }
+
+    @Override
+    public void batch(@NotNull Runnable writes) {
+        writes.run();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to close
+    }
+}
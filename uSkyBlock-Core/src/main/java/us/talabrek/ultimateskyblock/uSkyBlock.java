@@ -44,6 +44,7 @@ import us.talabrek.ultimateskyblock.command.AdminCommand;
 import us.talabrek.ultimateskyblock.command.admin.SetMaintenanceCommand;
 import us.talabrek.ultimateskyblock.handler.ConfirmHandler;
 import us.talabrek.ultimateskyblock.handler.CooldownHandler;
+import us.talabrek.ultimateskyblock.handler.SchematicCache;
 import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
 import us.talabrek.ultimateskyblock.hook.HookManager;
 import us.talabrek.ultimateskyblock.imports.BlockRequirementConverter;
@@ -54,11 +55,15 @@ import us.talabrek.ultimateskyblock.island.IslandGenerator;
 import us.talabrek.ultimateskyblock.island.IslandInfo;
 import us.talabrek.ultimateskyblock.island.IslandLocatorLogic;
 import us.talabrek.ultimateskyblock.island.IslandLogic;
+import us.talabrek.ultimateskyblock.island.IslandPool;
 import us.talabrek.ultimateskyblock.island.LimitLogic;
 import us.talabrek.ultimateskyblock.island.OrphanLogic;
+import us.talabrek.ultimateskyblock.island.level.AutoIslandLevelRefresh;
 import us.talabrek.ultimateskyblock.island.level.IslandScore;
+import us.talabrek.ultimateskyblock.island.level.LevelCalculationQueue;
 import us.talabrek.ultimateskyblock.island.level.LevelLogic;
 import us.talabrek.ultimateskyblock.island.task.CreateIslandTask;
+import us.talabrek.ultimateskyblock.island.task.GenerateTask;
 import us.talabrek.ultimateskyblock.island.task.SetBiomeTask;
 import us.talabrek.ultimateskyblock.menu.SkyBlockMenu;
 import us.talabrek.ultimateskyblock.player.IslandPerk;
@@ -115,10 +120,16 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     @Inject
     private LevelLogic levelLogic;
     @Inject
+    private LevelCalculationQueue levelCalculationQueue;
+    @Inject
+    private AutoIslandLevelRefresh autoIslandLevelRefresh;
+    @Inject
     private IslandLogic islandLogic;
     @Inject
     private OrphanLogic orphanLogic;
     @Inject
+    private IslandPool islandPool;
+    @Inject
     private PerkLogic perkLogic;
     @Inject
     private TeleportLogic teleportLogic;
@@ -131,6 +142,8 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     @Inject
     private IslandGenerator islandGenerator;
     @Inject
+    private SchematicCache schematicCache;
+    @Inject
     private PlayerNotifier notifier;
     @Inject
     private USBImporterExecutor importer;
@@ -192,7 +205,13 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
         convertConfigToBlockRequirements();
 
         reloadLegacyStuff();
-        startup();
+        try {
+            startup();
+        } catch (RuntimeException e) {
+            getLogger().log(Level.SEVERE, "Unable to start uSkyBlock, disabling the plugin", e);
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
 
         api = new UltimateSkyblockApi(this);
         registerApi(api);
@@ -471,7 +490,7 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     }
 
     public boolean islandAtLocation(final Location loc) {
-        return ((!WorldGuardHandler.getIntersectingRegions(loc).isEmpty()) || islandLogic.hasIsland(loc));
+        return islandLogic.hasIsland(loc) || !WorldGuardHandler.getIntersectingRegions(loc).isEmpty();
     }
 
     public boolean islandInSpawn(final Location loc) {
@@ -521,6 +540,13 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
         }
         pi.setIslandGenerating(true);
         try {
+            // Players in the skyworld get an island at their location, if there's room for it
+            boolean createHere = getWorldManager().isSkyWorld(player.getWorld()) && !islandInSpawn(player.getLocation());
+            Location pooled = createHere ? null : islandPool.claim(cSchem);
+            if (pooled != null) {
+                claimPooledIsland(player, pi, pooled, cSchem);
+                return;
+            }
             Location next = getIslandLocatorLogic().getNextIslandLocation(player);
             if (getWorldManager().isSkyWorld(player.getWorld())) {
                 getTeleportLogic().spawnTeleport(player, true);
@@ -547,6 +573,19 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
         islandLogic.clearIsland(next, createTask);
     }
 
+    /**
+     * Hands a pre-generated island from the {@link IslandPool} to the player, only the chest is left to fill.
+     */
+    private void claimPooledIsland(final Player player, final PlayerInfo pi, final Location pooled, final String cSchem) {
+        final PlayerPerk playerPerk = new PlayerPerk(pi, perkLogic.getPerk(player));
+        IslandInfo tempInfo = islandLogic.createIslandInfo(LocationUtil.getIslandName(pooled), pi.getPlayerName());
+        WorldGuardHandler.protectIsland(this, player, tempInfo);
+        GenerateTask generateTask = new GenerateTask(this, player, pi, pooled, playerPerk, cSchem);
+        generateTask.setChestLocation(LocationUtil.findChestLocation(pooled));
+        generateTask.run();
+        log(Level.INFO, "Claimed a pooled island for " + player.getName());
+    }
+
     public IslandInfo setNewPlayerIsland(final PlayerInfo playerInfo, final Location loc) {
         playerInfo.startNewIsland(loc);
 
@@ -845,14 +884,26 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
     }
 
     public void calculateScoreAsync(final Player player, String islandName, final Callback<us.talabrek.ultimateskyblock.api.model.IslandScore> callback) {
+        calculateScoreAsync(player, islandName, player != null ? LevelCalculationQueue.Priority.PLAYER : LevelCalculationQueue.Priority.BULK, callback);
+    }
+
+    public void calculateScoreAsync(final Player player, String islandName, LevelCalculationQueue.Priority priority, final Callback<us.talabrek.ultimateskyblock.api.model.IslandScore> callback) {
         final IslandInfo islandInfo = getIslandInfo(islandName);
-        getLevelLogic().calculateScoreAsync(islandInfo.getIslandLocation(), new Callback<>() {
+        final long changesAtRequest = autoIslandLevelRefresh.getChanges();
+        levelCalculationQueue.calculateScoreAsync(islandInfo.getIslandLocation(), priority, player != null ? player.getUniqueId() : null, new Callback<>() {
             @Override
             public void run() {
+                if (getState() == null) {
+                    // The calculation was aborted
+                    callback.setState(null);
+                    callback.run();
+                    return;
+                }
                 IslandScore score = adjustScore(getState(), islandInfo);
                 callback.setState(score);
                 islandInfo.setLevel(score.getScore());
                 getIslandLogic().updateRank(islandInfo, score);
+                autoIslandLevelRefresh.scoreUpdated(islandName, changesAtRequest);
                 fireAsyncEvent(new uSkyBlockScoreChangedEvent(player, getInstance(), score, islandInfo.getIslandLocation()));
                 callback.run();
             }
@@ -887,6 +938,10 @@ public class uSkyBlock extends JavaPlugin implements uSkyBlockAPI, CommandManage
         return islandGenerator;
     }
 
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+
     public HookManager getHookManager() {
         return hookManager;
     }
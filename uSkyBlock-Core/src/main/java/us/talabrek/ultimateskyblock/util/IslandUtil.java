@@ -17,14 +17,20 @@ public enum IslandUtil {;
         return new FilenameFilter() {
             @Override
             public boolean accept(File dir, String name) {
-                return name != null
-                        && name.matches("-?[0-9]+,-?[0-9]+.yml")
-                        && !"null.yml".equalsIgnoreCase(name)
-                        && (Settings.general_spawnSize == 0  || !"0,0.yml".equalsIgnoreCase(name));
+                return name != null && name.endsWith(".yml") && isIslandName(name.substring(0, name.length() - 4));
             }
         };
     }
 
+    /**
+     * @return <code>true</code> if the name is the name of an island, and not the spawn.
+     */
+    public static boolean isIslandName(String islandName) {
+        return islandName != null
+                && islandName.matches("-?[0-9]+,-?[0-9]+")
+                && (Settings.general_spawnSize == 0 || !"0,0".equals(islandName));
+    }
+
     public static Location getIslandLocation(String islandName) {
         if (islandName == null || islandName.isEmpty()) {
             return null;
@@ -10,16 +10,19 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.stubbing.Answer;
 import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.world.WorldManager;
 
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.logging.Logger;
 
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.core.Is.is;
@@ -52,7 +55,7 @@ public class IslandLocatorLogicTest {
     public void testNextIslandLocationReservation() throws Exception {
         Settings.island_distance = 10;
         uSkyBlock plugin = createPluginMock();
-        IslandLocatorLogic locator = new IslandLocatorLogic(plugin, tempFolder.newFolder().toPath(), mock(), mock(), mock(), mock());
+        IslandLocatorLogic locator = new IslandLocatorLogic(plugin, tempFolder.newFolder().toPath(), mock(), mock(), mock(), mock(), createOccupancy());
         Player player = createPlayerMock();
         Location location1 = locator.getNextIslandLocation(player);
         assertThat(location1, notNullValue());
@@ -65,7 +68,7 @@ public class IslandLocatorLogicTest {
     public void testNextIslandLocationReservationConcurrency() throws Exception {
         Settings.island_distance = 10;
         uSkyBlock plugin = createPluginMock();
-        final IslandLocatorLogic locator = new IslandLocatorLogic(plugin, tempFolder.newFolder().toPath(), mock(), mock(), mock(), mock());
+        final IslandLocatorLogic locator = new IslandLocatorLogic(plugin, tempFolder.newFolder().toPath(), mock(), mock(), mock(), mock(), createOccupancy());
         final List<Location> locations = new ArrayList<>();
         ThreadGroup threadGroup = new ThreadGroup("My");
         for (int i = 0; i < 10; i++) {
@@ -84,6 +87,10 @@ public class IslandLocatorLogicTest {
         assertThat("duplicate locations detected", set.size(), is(locations.size()));
     }
 
+    private IslandOccupancy createOccupancy() throws IOException {
+        return new IslandOccupancy(tempFolder.newFolder().toPath(), Logger.getLogger("test"), mock(DocumentStore.class));
+    }
+
     private Player createPlayerMock() {
         Player player = mock(Player.class);
         when(player.getLocation()).then((Answer<Location>) invocationOnMock -> new Location(null, 100, 100, 100));
@@ -0,0 +1,119 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.bukkit.Location;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.storage.DocumentKind;
+import us.talabrek.ultimateskyblock.storage.DocumentStore;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class IslandOccupancyTest {
+    private static final Logger logger = Logger.getLogger(IslandOccupancyTest.class.getName());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path pluginDir;
+    private DocumentStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        Settings.island_distance = 10;
+        Settings.island_height = 120;
+        pluginDir = tempFolder.newFolder().toPath();
+        store = mock(DocumentStore.class);
+        when(store.getKeys(DocumentKind.ISLAND)).thenReturn(List.of("0,0", "0,10", "10,10", "15,3"));
+    }
+
+    @Test
+    public void spiralIndexFollowsTheAllocationOrder() {
+        Settings.island_distance = 1;
+        Location location = new Location(null, 0, 0, 0);
+        for (int index = 0; index < 10000; index++) {
+            long x = location.getBlockX();
+            long z = location.getBlockZ();
+            assertThat(IslandOccupancy.getSpiralIndex(x, z), is((long) index));
+            assertThat(IslandOccupancy.getGrid(index), is(new long[]{x, z}));
+            location = IslandLocatorLogic.nextIslandLocation(location);
+        }
+    }
+
+    @Test
+    public void rebuildsFromTheStoredIslands() {
+        IslandOccupancy occupancy = new IslandOccupancy(pluginDir, logger, store);
+
+        assertThat(occupancy.isOccupied("0,10"), is(true));
+        assertThat(occupancy.isOccupied("15,3"), is(true));
+        assertThat(occupancy.isOccupied("10,0"), is(false));
+        assertThat(occupancy.isOccupied("15,4"), is(false));
+        assertThat(occupancy.getOccupiedCount(), is(4));
+    }
+
+    @Test
+    public void nextFreeLocationSkipsOccupiedSlots() {
+        IslandOccupancy occupancy = new IslandOccupancy(pluginDir, logger, store);
+
+        Location next = occupancy.nextFreeLocation(new Location(null, 0, 120, 0));
+        assertThat(next.getBlockX(), is(10));
+        assertThat(next.getBlockZ(), is(0));
+
+        occupancy.setOccupied("10,0", true);
+        next = occupancy.nextFreeLocation(new Location(null, 0, 120, 0));
+        assertThat(next.getBlockX(), is(10));
+        assertThat(next.getBlockZ(), is(-10));
+
+        occupancy.setOccupied("0,10", false);
+        next = occupancy.nextFreeLocation(new Location(null, 0, 120, 0));
+        assertThat(next.getBlockX(), is(0));
+        assertThat(next.getBlockZ(), is(10));
+    }
+
+    @Test
+    public void savedOccupancyIsLoadedWithoutTheStore() {
+        IslandOccupancy occupancy = new IslandOccupancy(pluginDir, logger, store);
+        occupancy.setOccupied("-10,-10", true);
+        occupancy.setOccupied("0,0", false);
+        occupancy.setOccupied("7,7", true);
+        occupancy.save();
+
+        IslandOccupancy loaded = new IslandOccupancy(pluginDir, logger, mock(DocumentStore.class));
+        assertThat(loaded.isOccupied("-10,-10"), is(true));
+        assertThat(loaded.isOccupied("0,0"), is(false));
+        assertThat(loaded.isOccupied("7,7"), is(true));
+        assertThat(loaded.isOccupied("15,3"), is(true));
+        assertThat(loaded.getOccupiedCount(), is(5));
+    }
+
+    @Test
+    public void occupiedSlotsAreSavedImmediately() {
+        IslandOccupancy occupancy = new IslandOccupancy(pluginDir, logger, store);
+        occupancy.setOccupied("20,0", true);
+
+        IslandOccupancy loaded = new IslandOccupancy(pluginDir, logger, mock(DocumentStore.class));
+        assertThat(loaded.isOccupied("20,0"), is(true));
+        assertThat(loaded.getOccupiedCount(), is(5));
+    }
+
+    @Test
+    public void rebuildsWhenTheDistanceChanges() {
+        new IslandOccupancy(pluginDir, logger, store).save();
+        Settings.island_distance = 5;
+
+        IslandOccupancy occupancy = new IslandOccupancy(pluginDir, logger, store);
+        assertThat(occupancy.isOccupied("15,3"), is(true));
+        assertThat(occupancy.isOccupied("0,10"), is(true));
+        assertThat(occupancy.isOccupied("5,0"), is(false));
+    }
+}
@@ -0,0 +1,99 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+public class IslandPartyTest {
+    private static final UUID LEADER = UUID.fromString("2a8a6b54-7a4a-4d2f-8b4c-1e1f7d2c0a01");
+    private static final UUID MEMBER = UUID.fromString("2a8a6b54-7a4a-4d2f-8b4c-1e1f7d2c0a02");
+    private static final UUID OTHER = UUID.fromString("2a8a6b54-7a4a-4d2f-8b4c-1e1f7d2c0a03");
+
+    @Test
+    public void parseReadsPartyBansAndTrustees() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("party.leader", "leader");
+        config.set("party.leader-uuid", LEADER.toString());
+        config.set("party.members." + LEADER + ".canChangeBiome", true);
+        config.set("party.members." + LEADER + ".canBanOthers", true);
+        config.set("party.members." + MEMBER + ".name", "member");
+        config.set("party.members." + MEMBER + ".canToggleLock", true);
+        config.set("party.members.not-a-uuid.name", "broken");
+        config.set("banned.list", List.of(OTHER.toString(), "oldName"));
+        config.set("trust.list", List.of(MEMBER.toString()));
+
+        IslandParty party = IslandParty.parse("0,0", config);
+
+        assertThat(party.getLeaderName(), is("leader"));
+        assertThat(party.getLeaderId(), is(LEADER));
+        assertThat(party.getMemberIds(), contains(LEADER, MEMBER));
+        assertThat(party.getMember(LEADER).name(), nullValue());
+        assertThat(party.getMember(LEADER).hasPermission(IslandParty.getPermissionBit("canBanOthers")), is(true));
+        assertThat(party.getMember(LEADER).hasPermission(IslandParty.getPermissionBit("canToggleLock")), is(false));
+        assertThat(party.getMember(MEMBER).name(), is("member"));
+        assertThat(party.getMember(MEMBER).hasPermission(IslandParty.getPermissionBit("canToggleLock")), is(true));
+        assertThat(party.getBans(), contains(OTHER));
+        assertThat(party.getTrustees(), contains(MEMBER));
+    }
+
+    @Test
+    public void writeToKeepsMemberLimits() {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("party.members." + MEMBER + ".name", "member");
+        config.set("party.members." + MEMBER + ".maxAnimals", 30);
+        config.set("party.members." + OTHER + ".maxAnimals", 10);
+        IslandParty party = IslandParty.parse("0,0", config);
+
+        party.setLeader("leader", LEADER);
+        party.putMember(LEADER, new IslandParty.Member(null, IslandParty.ALL_PERMISSIONS));
+        party.removeMember(OTHER);
+        party.addBan(OTHER);
+        party.writeTo(config);
+
+        assertThat(config.getString("party.leader"), is("leader"));
+        assertThat(config.getString("party.leader-uuid"), is(LEADER.toString()));
+        assertThat(config.getInt("party.currentSize"), is(2));
+        assertThat(config.getInt("party.members." + MEMBER + ".maxAnimals"), is(30));
+        assertThat(config.getBoolean("party.members." + MEMBER + ".canKickOthers"), is(false));
+        assertThat(config.getBoolean("party.members." + LEADER + ".canKickOthers"), is(true));
+        assertThat(config.isConfigurationSection("party.members." + OTHER), is(false));
+        assertThat(config.getStringList("banned.list"), contains(OTHER.toString()));
+        assertThat(config.isSet("trust.list"), is(false));
+
+        IslandParty reparsed = IslandParty.parse("0,0", config);
+        assertThat(reparsed.getMembers(), is(party.getMembers()));
+        assertThat(reparsed.getBans(), is(party.getBans()));
+    }
+
+    @Test
+    public void changesDoNotAffectEarlierSnapshots() {
+        IslandParty party = IslandParty.parse("0,0", new YamlConfiguration());
+        party.putMember(MEMBER, new IslandParty.Member("member", 0));
+        Set<UUID> members = party.getMemberIds();
+        Set<UUID> trustees = party.getTrustees();
+
+        party.putMember(OTHER, new IslandParty.Member("other", 0));
+        party.removeMember(MEMBER);
+        party.addTrustee(OTHER);
+
+        assertThat(members, contains(MEMBER));
+        assertThat(trustees, empty());
+        assertThat(party.getMemberIds(), contains(OTHER));
+        assertThat(party.getTrustees(), contains(OTHER));
+    }
+
+    @Test
+    public void unknownPermissionHasNoBit() {
+        assertThat(IslandParty.getPermissionBit("canFly"), is(0));
+        assertThat(new IslandParty.Member("member", IslandParty.ALL_PERMISSIONS).hasPermission(IslandParty.getPermissionBit("canFly")), is(false));
+    }
+}
@@ -0,0 +1,104 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.bukkit.Location;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasToString;
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OrphanLogicTest {
+    private static final Logger logger = Logger.getLogger(OrphanLogicTest.class.getName());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path pluginDir;
+
+    @Before
+    public void setUp() throws IOException {
+        Settings.island_height = 120;
+        pluginDir = tempFolder.newFolder().toPath();
+    }
+
+    private OrphanLogic createOrphanLogic() {
+        return new OrphanLogic(pluginDir, logger, mock(WorldManager.class));
+    }
+
+    @Test
+    public void orphansAreReplayedFromTheJournal() throws IOException {
+        OrphanLogic orphanLogic = createOrphanLogic();
+        orphanLogic.addOrphan("10,0");
+        orphanLogic.addOrphan("0,20");
+        orphanLogic.addOrphan("10,0");
+        IslandLocatorLogic locator = mock(IslandLocatorLogic.class);
+        when(locator.isAvailableLocation(any(Location.class))).thenReturn(true);
+        Location next = orphanLogic.getNextValidOrphan(locator);
+        assertThat(next.getBlockX(), is(10));
+
+        List<String> journal = Files.readAllLines(pluginDir.resolve("orphans.log"), StandardCharsets.UTF_8);
+        assertThat(journal, contains("+10,0", "+0,20", "-10,0"));
+        assertThat(createOrphanLogic().getOrphans(), contains(hasToString("0,20")));
+    }
+
+    @Test
+    public void clearIsReplayed() {
+        OrphanLogic orphanLogic = createOrphanLogic();
+        orphanLogic.addOrphan("10,0");
+        orphanLogic.clear();
+        orphanLogic.addOrphan("0,20");
+
+        assertThat(createOrphanLogic().getOrphans(), contains(hasToString("0,20")));
+    }
+
+    @Test
+    public void shutdownCompactsTheJournal() throws IOException {
+        OrphanLogic orphanLogic = createOrphanLogic();
+        for (int i = 1; i <= 20; i++) {
+            orphanLogic.addOrphan(i * 10 + ",0");
+        }
+        orphanLogic.clear();
+        orphanLogic.addOrphan("0,20");
+        orphanLogic.shutdown();
+
+        List<String> journal = Files.readAllLines(pluginDir.resolve("orphans.log"), StandardCharsets.UTF_8);
+        assertThat(journal, contains("+0,20"));
+    }
+
+    @Test
+    public void truncatedEntriesAreSkipped() throws IOException {
+        Files.writeString(pluginDir.resolve("orphans.log"), "+10,0\n+0,20\n-10,0\n+30", StandardCharsets.UTF_8);
+
+        assertThat(createOrphanLogic().getOrphans(), contains(hasToString("0,20")));
+    }
+
+    @Test
+    public void legacyOrphansAreMovedToTheJournal() throws IOException {
+        Files.writeString(pluginDir.resolve("orphans.yml"), "orphans:\n- 10,0\n- 0,20\n", StandardCharsets.UTF_8);
+
+        OrphanLogic orphanLogic = createOrphanLogic();
+        assertThat(orphanLogic.getOrphans().size(), is(2));
+        assertThat(Files.exists(pluginDir.resolve("orphans.yml")), is(false));
+        assertThat(Files.readAllLines(pluginDir.resolve("orphans.log"), StandardCharsets.UTF_8).size(), is(2));
+
+        orphanLogic.clear();
+        assertThat(createOrphanLogic().getOrphans(), empty());
+    }
+}
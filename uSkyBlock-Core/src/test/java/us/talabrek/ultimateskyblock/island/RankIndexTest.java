@@ -0,0 +1,68 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class RankIndexTest {
+    private static final Logger logger = Logger.getLogger(RankIndexTest.class.getName());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void notBuiltWithoutIndexFile() throws IOException {
+        RankIndex index = new RankIndex(tempFolder.newFolder().toPath(), logger);
+
+        assertThat(index.isBuilt(), is(false));
+        assertThat(index.getEntries(), empty());
+    }
+
+    @Test
+    public void saveAndLoad() throws IOException {
+        Path dataDir = tempFolder.newFolder().toPath();
+        RankIndex index = new RankIndex(dataDir, logger);
+        UUID leader = UUID.randomUUID();
+        UUID gone = UUID.randomUUID();
+        RankIndex.Entry party = new RankIndex.Entry("0,0", 123.5, false, leader, List.of(leader, UUID.randomUUID()));
+        RankIndex.Entry solo = new RankIndex.Entry("128,-128", 7, true, null, Collections.emptyList());
+        index.put(party);
+        index.put(solo);
+        index.put(new RankIndex.Entry("256,0", 1, false, gone, List.of(gone)));
+        index.remove("256,0");
+
+        index.save();
+        assertThat(Files.exists(dataDir.resolve("ranks.txt")), is(false));
+
+        index.setBuilt();
+        index.save();
+
+        RankIndex loaded = new RankIndex(dataDir, logger);
+        assertThat(loaded.isBuilt(), is(true));
+        assertThat(loaded.getEntries(), containsInAnyOrder(party, solo));
+    }
+
+    @Test
+    public void indexWithPlayerNamesIsRebuilt() throws IOException {
+        Path dataDir = tempFolder.newFolder().toPath();
+        Files.writeString(dataDir.resolve("ranks.txt"), "0,0\t123.5\t0\tleader\tleader,member\n", StandardCharsets.UTF_8);
+
+        RankIndex loaded = new RankIndex(dataDir, logger);
+        assertThat(loaded.isBuilt(), is(false));
+        assertThat(loaded.getEntries(), empty());
+    }
+}
@@ -0,0 +1,101 @@
+package us.talabrek.ultimateskyblock.island;
+
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.api.IslandLevel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class RankTreeTest {
+
+    @Test
+    public void ranksByScore() {
+        RankTree tree = RankTree.EMPTY;
+        IslandLevel low = level("0,0", 10);
+        IslandLevel high = level("128,0", 30);
+        IslandLevel middle = level("256,0", 20);
+        tree = tree.put(low);
+        tree = tree.put(high);
+        tree = tree.put(middle);
+
+        assertThat(tree.size(), is(3));
+        assertThat(tree.getRank("128,0"), is(1));
+        assertThat(tree.getRank("256,0"), is(2));
+        assertThat(tree.getRank("0,0"), is(3));
+        assertThat(tree.getRank("512,0"), is(-1));
+        assertThat(tree.getRange(0, 10), contains(high, middle, low));
+        assertThat(tree.getRange(1, 1), contains(middle));
+        assertThat(tree.getRange(3, 10), empty());
+    }
+
+    @Test
+    public void putReplacesPreviousLevel() {
+        RankTree tree = RankTree.EMPTY;
+        tree = tree.put(level("0,0", 10));
+        tree = tree.put(level("128,0", 20));
+        IslandLevel raised = level("0,0", 30);
+        tree = tree.put(raised);
+
+        assertThat(tree.size(), is(2));
+        assertThat(tree.getRank("0,0"), is(1));
+        assertThat(tree.getLevel("0,0"), is(raised));
+
+        RankTree removed = tree.remove("0,0");
+        assertThat(removed.size(), is(1));
+        assertThat(removed.getRank("0,0"), is(-1));
+        assertThat(removed.getRank("128,0"), is(1));
+        assertThat(removed.getVersion(), is(tree.getVersion() + 1));
+        // The previous snapshot is unchanged
+        assertThat(tree.size(), is(2));
+        assertThat(tree.getRank("0,0"), is(1));
+    }
+
+    @Test
+    public void ranksTiedIslandsWithoutLeader() {
+        IslandLevel withoutLeader = new IslandLevel("0,0", null, Collections.emptyList(), 10);
+        IslandLevel withLeader = level("128,0", 10);
+        RankTree tree = RankTree.EMPTY.put(withoutLeader).put(withLeader);
+
+        assertThat(tree.getRange(0, 10), contains(withLeader, withoutLeader));
+    }
+
+    @Test
+    public void matchesSortedList() {
+        RankTree tree = RankTree.EMPTY;
+        List<IslandLevel> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            IslandLevel level = level(i + ",0", random.nextInt(100));
+            tree = tree.put(level);
+            expected.add(level);
+        }
+        for (int i = 0; i < 200; i++) {
+            String islandName = random.nextInt(1000) + ",0";
+            IslandLevel level = level(islandName, random.nextInt(100));
+            tree = tree.put(level);
+            expected.remove(level);
+            expected.add(level);
+        }
+        expected.sort((a, b) -> {
+            int cmp = Double.compare(b.getScore(), a.getScore());
+            return cmp != 0 ? cmp : a.getIslandName().compareTo(b.getIslandName());
+        });
+
+        assertThat(tree.getRange(0, expected.size()), is(expected));
+        assertThat(tree.getRange(500, 10), is(expected.subList(500, 510)));
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(tree.getRank(expected.get(i).getIslandName()), is(i + 1));
+        }
+    }
+
+    private static IslandLevel level(String islandName, double score) {
+        return new IslandLevel(islandName, "leader", Collections.emptyList(), score);
+    }
+}
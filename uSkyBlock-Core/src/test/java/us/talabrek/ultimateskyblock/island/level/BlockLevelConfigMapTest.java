@@ -8,6 +8,7 @@ import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class BlockLevelConfigMapTest {
 
@@ -23,5 +24,26 @@ public class BlockLevelConfigMapTest {
         BlockLevelConfigMap map = new BlockLevelConfigMap(collection, defaultBuilder);
 
         assertThat(map.get(Material.AIR).getScorePerBlock(), is(0d));
+        assertThat(map.get(Material.OAK_LOG).getScorePerBlock(), is(9d));
+        assertThat(map.get(Material.OAK_LOG), sameInstance(map.get(Material.OAK_WOOD)));
+        assertThat(map.get(Material.DIRT).getScorePerBlock(), is(10d));
+        assertThat(map.get(Material.DIRT).getKey(), is(new BlockMatch(Material.DIRT)));
+    }
+
+    @Test
+    public void countCollection() {
+        BlockLevelConfigBuilder defaultBuilder = new BlockLevelConfigBuilder().scorePerBlock(10);
+        BlockLevelConfigMap map = new BlockLevelConfigMap(new ArrayList<>(), defaultBuilder);
+        BlockCountCollection counts = new BlockCountCollection(map);
+        counts.add(Material.STONE);
+        counts.add(Material.STONE, 4);
+        BlockCountCollection other = new BlockCountCollection(map);
+        other.add(Material.STONE, 2);
+        other.add(Material.DIRT);
+        counts.addAll(other);
+
+        assertThat(counts.getCount(Material.STONE), is(7L));
+        assertThat(counts.getCount(Material.DIRT), is(1L));
+        assertThat(counts.getCount(Material.GRASS_BLOCK), is(0L));
     }
 }
@@ -0,0 +1,132 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChunkCountCacheTest {
+
+    private final WorldManager worldManager = mock(WorldManager.class);
+    private final World skyWorld = mock(World.class);
+    private final YamlConfiguration yaml = new YamlConfiguration();
+    private ChunkCountCache cache;
+
+    @Before
+    public void setUp() {
+        Settings.island_distance = 128;
+        Settings.island_height = 150;
+        when(worldManager.isSkyWorld(skyWorld)).thenReturn(true);
+        yaml.set("options.advanced.chunkCountCache", "maximumSize=20000,expireAfterWrite=10m");
+        cache = createCache();
+    }
+
+    private ChunkCountCache createCache() {
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(yaml);
+        return new ChunkCountCache(worldManager, config);
+    }
+
+    @Test
+    public void storedChunksAreReused() {
+        ChunkCountCache.Scan scan = cache.startScan("0,0", false);
+        assertThat(scan.reserve(0, 0), is(false));
+        scan.store(0, 0, counts(Material.STONE, 3));
+
+        ChunkCountCache.Scan next = cache.startScan("0,0", false);
+        assertThat(next.reserve(0, 0), is(true));
+        BlockCountCollection total = newCounts();
+        next.addCachedTo(total);
+        assertThat(total.getCount(Material.STONE), is(3L));
+    }
+
+    @Test
+    public void chunksAreCachedPerIslandAndWorld() {
+        cacheChunk("0,0", 0, 0);
+
+        assertThat(cache.startScan("0,0", true).reserve(0, 0), is(false));
+        assertThat(cache.startScan("128,0", false).reserve(0, 0), is(false));
+    }
+
+    @Test
+    public void chunksInvalidatedDuringAScanAreNotStored() {
+        ChunkCountCache.Scan scan = cache.startScan("0,0", false);
+        scan.reserve(0, 0);
+        cache.invalidate(new Location(skyWorld, 5, 100, 5));
+        scan.store(0, 0, counts(Material.STONE, 3));
+
+        assertThat(cache.startScan("0,0", false).reserve(0, 0), is(false));
+    }
+
+    @Test
+    public void invalidateOnlyAffectsTheChunkOfTheLocation() {
+        cacheChunk("0,0", 0, 0);
+        cacheChunk("0,0", 1, 0);
+
+        cache.invalidate(new Location(skyWorld, 20, 100, 5));
+
+        ChunkCountCache.Scan next = cache.startScan("0,0", false);
+        assertThat(next.reserve(0, 0), is(true));
+        assertThat(next.reserve(1, 0), is(false));
+    }
+
+    @Test
+    public void invalidateIsland() {
+        cacheChunk("0,0", 0, 0);
+        cacheChunk("128,0", 8, 0);
+
+        cache.invalidateIsland("0,0");
+
+        assertThat(cache.startScan("0,0", false).reserve(0, 0), is(false));
+        assertThat(cache.startScan("128,0", false).reserve(8, 0), is(true));
+    }
+
+    @Test
+    public void disabledByDefault() {
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(new YamlConfiguration());
+
+        assertThat(new ChunkCountCache(worldManager, config).isEnabled(), is(false));
+    }
+
+    @Test
+    public void emptySpecDisablesTheCache() {
+        yaml.set("options.advanced.chunkCountCache", "");
+        ChunkCountCache disabled = createCache();
+
+        assertThat(disabled.isEnabled(), is(false));
+        ChunkCountCache.Scan scan = disabled.startScan("0,0", false);
+        scan.reserve(0, 0);
+        scan.store(0, 0, counts(Material.STONE, 3));
+        assertThat(scan.reserve(0, 0), is(false));
+    }
+
+    private void cacheChunk(String islandName, int chunkX, int chunkZ) {
+        ChunkCountCache.Scan scan = cache.startScan(islandName, false);
+        scan.reserve(chunkX, chunkZ);
+        scan.store(chunkX, chunkZ, counts(Material.STONE, 3));
+    }
+
+    private static BlockCountCollection newCounts() {
+        return new BlockCountCollection(
+            new BlockLevelConfigMap(new ArrayList<>(), new BlockLevelConfigBuilder().scorePerBlock(10)));
+    }
+
+    private static ChunkBlockCounts counts(Material type, int count) {
+        BlockCountCollection counts = newCounts();
+        counts.add(type, count);
+        return ChunkBlockCounts.of(counts);
+    }
+}
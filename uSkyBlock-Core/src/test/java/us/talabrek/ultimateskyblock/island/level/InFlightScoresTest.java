@@ -0,0 +1,81 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.test.MutableClock;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class InFlightScoresTest {
+
+    @Test
+    public void attachToRunningCalculation() {
+        InFlightScores scores = new InFlightScores(new MutableClock(Instant.parse("2025-02-10T12:00:00Z")), Duration.ZERO);
+        Callback<IslandScore> first = newCallback();
+        Callback<IslandScore> second = newCallback();
+        Callback<IslandScore> other = newCallback();
+
+        assertThat(scores.attach("0,0", first), is(true));
+        assertThat(scores.attach("0,0", second), is(false));
+        assertThat(scores.attach("128,0", other), is(true));
+
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        List<Callback<IslandScore>> callbacks = scores.complete("0,0", score);
+        assertThat(callbacks, contains(first, second));
+        assertThat(first.getState(), sameInstance(score));
+        assertThat(second.getState(), sameInstance(score));
+        assertThat(other.getState(), nullValue());
+        assertThat(scores.getRecent("0,0"), nullValue());
+
+        assertThat(scores.attach("0,0", newCallback()), is(true));
+    }
+
+    @Test
+    public void abortReturnsCallbacksWithoutScore() {
+        InFlightScores scores = new InFlightScores(new MutableClock(Instant.parse("2025-02-10T12:00:00Z")), Duration.ZERO);
+        Callback<IslandScore> first = newCallback();
+        Callback<IslandScore> second = newCallback();
+        first.setState(new IslandScore(10, Collections.emptyList()));
+        scores.attach("0,0", first);
+        scores.attach("0,0", second);
+
+        assertThat(scores.abort("0,0"), contains(first, second));
+        assertThat(first.getState(), nullValue());
+        assertThat(scores.abort("0,0"), empty());
+        assertThat(scores.complete("0,0", new IslandScore(10, Collections.emptyList())), empty());
+    }
+
+    @Test
+    public void reuseRecentScore() {
+        MutableClock clock = new MutableClock(Instant.parse("2025-02-10T12:00:00Z"));
+        InFlightScores scores = new InFlightScores(clock, Duration.ofSeconds(5));
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        scores.attach("0,0", newCallback());
+        scores.complete("0,0", score);
+
+        assertThat(scores.getRecent("0,0"), sameInstance(score));
+        clock.advance(Duration.ofSeconds(5));
+        assertThat(scores.getRecent("0,0"), sameInstance(score));
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(scores.getRecent("0,0"), nullValue());
+    }
+
+    private static Callback<IslandScore> newCallback() {
+        return new Callback<>() {
+            @Override
+            public void run() {
+                // Do nothing
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldguard.protection.regions.ProtectedCuboidRegion;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.Settings;
+import us.talabrek.ultimateskyblock.island.IslandInfo;
+import us.talabrek.ultimateskyblock.test.MutableClock;
+import us.talabrek.ultimateskyblock.uSkyBlock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IncrementalLevelTrackerTest {
+
+    private final uSkyBlock plugin = mock(uSkyBlock.class);
+    private final WorldManager worldManager = mock(WorldManager.class);
+    private final Scheduler scheduler = mock(Scheduler.class);
+    private final World skyWorld = mock(World.class);
+    private MutableClock clock;
+    private IncrementalLevelTracker tracker;
+
+    @Before
+    public void setUp() {
+        Settings.island_distance = 128;
+        Settings.island_height = 150;
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("options.island.incremental-level.enabled", true);
+        yaml.set("options.island.incremental-level.reconcile-every", 60);
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(yaml);
+        when(worldManager.isSkyWorld(skyWorld)).thenReturn(true);
+        clock = new MutableClock(Instant.parse("2025-02-10T12:00:00Z"));
+        tracker = new IncrementalLevelTracker(plugin, worldManager, config, scheduler, clock);
+    }
+
+    @Test
+    public void blockEventsUpdateTheCounts() {
+        track("0,0");
+
+        tracker.blockAdded(block(10, 100, 10, Material.STONE), Material.STONE);
+        tracker.blockAdded(block(11, 100, 10, Material.STONE), Material.STONE);
+        tracker.blockChanged(block(10, 100, 10, Material.DIAMOND_BLOCK), Material.STONE, Material.DIAMOND_BLOCK);
+        tracker.blockRemoved(block(11, 100, 10, Material.STONE));
+
+        assertThat(tracker.getCount("0,0", Material.STONE), is(0L));
+        assertThat(tracker.getCount("0,0", Material.DIAMOND_BLOCK), is(1L));
+    }
+
+    @Test
+    public void blocksOutsideTheRegionAreIgnored() {
+        track("0,0");
+
+        tracker.blockAdded(block(60, 100, 10, Material.STONE), Material.STONE);
+
+        assertThat(tracker.getCount("0,0", Material.STONE), is(0L));
+        assertThat(tracker.getCount("128,0", Material.STONE), is(-1L));
+    }
+
+    @Test
+    public void reconcileUntracksDeletedIslandsAndRescansTheRest() {
+        track("0,0");
+        track("128,0");
+        tracker.blockAdded(block(10, 100, 10, Material.STONE), Material.STONE);
+        tracker.blockAdded(block(138, 100, 10, Material.STONE), Material.STONE);
+        IslandInfo existing = mock(IslandInfo.class);
+        when(existing.exists()).thenReturn(true);
+        when(plugin.getIslandInfo("0,0")).thenReturn(existing);
+        when(plugin.getIslandInfo("128,0")).thenReturn(null);
+
+        clock.advance(Duration.ofMinutes(61));
+        tracker.reconcile();
+
+        assertThat(tracker.isTracked("0,0"), is(false));
+        assertThat(tracker.isTracked("128,0"), is(false));
+        verify(plugin, never()).getIslandInfo(any(String.class));
+
+        ArgumentCaptor<Runnable> async = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).async(async.capture());
+        async.getValue().run();
+
+        verify(plugin).calculateScoreAsync(isNull(), eq("0,0"), eq(LevelCalculationQueue.Priority.BULK), any());
+        verify(plugin, never()).calculateScoreAsync(isNull(), eq("128,0"), any(), any());
+    }
+
+    @Test
+    public void reconcileUntracksIdleIslandsWithoutRescanning() {
+        track("0,0");
+        tracker.blockAdded(block(60, 100, 10, Material.STONE), Material.STONE);
+
+        clock.advance(Duration.ofMinutes(61));
+        tracker.reconcile();
+
+        assertThat(tracker.isTracked("0,0"), is(false));
+        verify(scheduler, never()).async(any(Runnable.class));
+    }
+
+    @Test
+    public void reconcileKeepsRecentlyScannedIslands() {
+        track("0,0");
+
+        clock.advance(Duration.ofMinutes(59));
+        tracker.reconcile();
+
+        assertThat(tracker.isTracked("0,0"), is(true));
+        verify(scheduler, never()).async(any(Runnable.class));
+    }
+
+    private void track(String islandName) {
+        String[] coords = islandName.split(",");
+        int x = Integer.parseInt(coords[0]);
+        int z = Integer.parseInt(coords[1]);
+        ProtectedCuboidRegion region = new ProtectedCuboidRegion(islandName + "island",
+            BlockVector3.at(x - 32, 0, z - 32), BlockVector3.at(x + 32, 255, z + 32));
+        BlockCountCollection counts = new BlockCountCollection(
+            new BlockLevelConfigMap(new ArrayList<>(), new BlockLevelConfigBuilder().scorePerBlock(10)));
+        tracker.track(islandName, region, counts, null, null);
+    }
+
+    private Block block(int x, int y, int z, Material type) {
+        Block block = mock(Block.class);
+        when(block.getLocation()).thenReturn(new Location(skyWorld, x, y, z));
+        when(block.getType()).thenReturn(type);
+        return block;
+    }
+}
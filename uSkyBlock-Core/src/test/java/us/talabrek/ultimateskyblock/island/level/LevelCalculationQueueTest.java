@@ -0,0 +1,199 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import org.bukkit.Location;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.test.MutableClock;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LevelCalculationQueueTest {
+
+    private final List<Location> started = new ArrayList<>();
+    private final List<Callback<IslandScore>> running = new ArrayList<>();
+    private final Scheduler scheduler = mock(Scheduler.class);
+    private MutableClock clock;
+    private LevelCalculationQueue queue;
+
+    @Before
+    public void setUp() {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("async.level.maxConcurrent", 1);
+        yaml.set("async.level.playerIntervalMs", 10000);
+        PluginConfig config = mock(PluginConfig.class);
+        when(config.getYamlConfig()).thenReturn(yaml);
+        LevelLogic levelLogic = (location, callback) -> {
+            started.add(location);
+            running.add(callback);
+        };
+        clock = new MutableClock(Instant.parse("2025-02-10T12:00:00Z"));
+        queue = new LevelCalculationQueue(levelLogic, config, scheduler, clock);
+    }
+
+    @Test
+    public void startsQueuedCalculationsByPriority() {
+        Location bulk = location(0);
+        Location refresh = location(128);
+        Location player = location(256);
+        Location first = location(384);
+
+        queue.calculateScoreAsync(first, LevelCalculationQueue.Priority.BULK, null, newCallback());
+        queue.calculateScoreAsync(bulk, LevelCalculationQueue.Priority.BULK, null, newCallback());
+        queue.calculateScoreAsync(refresh, LevelCalculationQueue.Priority.AUTO_REFRESH, null, newCallback());
+        queue.calculateScoreAsync(player, LevelCalculationQueue.Priority.PLAYER, UUID.randomUUID(), newCallback());
+        assertThat(started, contains(first));
+        assertThat(queue.getRunning(), is(1));
+
+        complete();
+        complete();
+        complete();
+        assertThat(started, contains(first, player, refresh, bulk));
+        assertThat(queue.getStats().get(LevelCalculationQueue.Priority.BULK).getQueued(), is(0));
+        assertThat(queue.getStats().get(LevelCalculationQueue.Priority.BULK).getStarted(), is(2L));
+    }
+
+    @Test
+    public void queuesPlayerRequestsOfOtherIslandsWithinIntervalBehindBulk() {
+        UUID playerId = UUID.randomUUID();
+        Location blocker = location(0);
+        Location playerFirst = location(128);
+        Location bulk = location(256);
+        Location playerSecond = location(384);
+        Callback<IslandScore> limited = newCallback();
+
+        queue.calculateScoreAsync(blocker, LevelCalculationQueue.Priority.BULK, null, newCallback());
+        queue.calculateScoreAsync(playerFirst, LevelCalculationQueue.Priority.PLAYER, playerId, newCallback());
+        queue.calculateScoreAsync(bulk, LevelCalculationQueue.Priority.BULK, null, newCallback());
+        clock.advance(Duration.ofSeconds(5));
+        queue.calculateScoreAsync(playerSecond, LevelCalculationQueue.Priority.PLAYER, playerId, limited);
+
+        complete();
+        complete();
+        complete();
+        complete();
+        assertThat(started, contains(blocker, playerFirst, bulk, playerSecond));
+        assertThat(limited.getState(), notNullValue());
+    }
+
+    @Test
+    public void answersPlayerRequestsWithinIntervalWithThePreviousScore() {
+        UUID playerId = UUID.randomUUID();
+        Location island = location(0);
+        Callback<IslandScore> second = newCallback();
+
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, newCallback());
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        running.get(0).setState(score);
+        running.get(0).run();
+        clock.advance(Duration.ofSeconds(5));
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, second);
+
+        verify(scheduler).sync(second);
+        assertThat(second.getState(), is(score));
+        assertThat(started, contains(island));
+    }
+
+    @Test
+    public void joinsPlayerRequestsWithinIntervalToRunningCalculation() {
+        UUID playerId = UUID.randomUUID();
+        Location island = location(0);
+        Callback<IslandScore> first = newCallback();
+        Callback<IslandScore> second = newCallback();
+
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, first);
+        clock.advance(Duration.ofSeconds(5));
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, second);
+
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        running.get(0).setState(score);
+        running.get(0).run();
+        assertThat(started, contains(island));
+        assertThat(first.getState(), is(score));
+        assertThat(second.getState(), is(score));
+    }
+
+    @Test
+    public void joinsPlayerRequestsWithinIntervalToQueuedCalculation() {
+        UUID playerId = UUID.randomUUID();
+        Location blocker = location(0);
+        Location island = location(128);
+        Callback<IslandScore> first = newCallback();
+        Callback<IslandScore> second = newCallback();
+
+        queue.calculateScoreAsync(blocker, LevelCalculationQueue.Priority.BULK, null, newCallback());
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, first);
+        clock.advance(Duration.ofSeconds(5));
+        queue.calculateScoreAsync(island, LevelCalculationQueue.Priority.PLAYER, playerId, second);
+
+        complete();
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        running.get(0).setState(score);
+        running.get(0).run();
+        assertThat(started, contains(blocker, island));
+        assertThat(first.getState(), is(score));
+        assertThat(second.getState(), is(score));
+    }
+
+    @Test
+    public void acceptsPlayerRequestsAfterInterval() {
+        UUID playerId = UUID.randomUUID();
+        Location first = location(0);
+        Location second = location(128);
+
+        queue.calculateScoreAsync(first, LevelCalculationQueue.Priority.PLAYER, playerId, newCallback());
+        complete();
+        clock.advance(Duration.ofSeconds(10));
+        queue.calculateScoreAsync(second, LevelCalculationQueue.Priority.PLAYER, playerId, newCallback());
+
+        assertThat(started, contains(first, second));
+    }
+
+    @Test
+    public void passesScoreToCallback() {
+        IslandScore score = new IslandScore(10, Collections.emptyList());
+        Callback<IslandScore> callback = newCallback();
+        queue.calculateScoreAsync(location(0), LevelCalculationQueue.Priority.PLAYER, null, callback);
+
+        running.get(0).setState(score);
+        running.get(0).run();
+
+        assertThat(callback.getState(), is(score));
+        assertThat(queue.getRunning(), is(0));
+    }
+
+    private void complete() {
+        Callback<IslandScore> callback = running.remove(0);
+        callback.setState(new IslandScore(0, Collections.emptyList()));
+        callback.run();
+    }
+
+    private static Location location(int x) {
+        return new Location(null, x, 0, 0);
+    }
+
+    private static Callback<IslandScore> newCallback() {
+        return new Callback<>() {
+            @Override
+            public void run() {
+                // Do nothing
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.core.Is.is;
+
+@RunWith(Parameterized.class)
+public class DocumentStoreTest {
+    private static final Logger logger = Logger.getLogger(DocumentStoreTest.class.getName());
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<StorageType> types() {
+        return Arrays.asList(StorageType.values());
+    }
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final StorageType type;
+    private Path dataDir;
+    private DocumentStore store;
+
+    public DocumentStoreTest(StorageType type) {
+        this.type = type;
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        dataDir = tempFolder.newFolder().toPath();
+        store = type.open(dataDir, logger);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void saveLoadAndDelete() throws IOException {
+        assertThat(store.exists(DocumentKind.ISLAND, "0,0"), is(false));
+        assertThat(store.load(DocumentKind.ISLAND, "0,0", new YamlConfiguration()), is(false));
+
+        store.save(DocumentKind.ISLAND, "0,0", document("general.level", 42));
+        store.save(DocumentKind.PLAYER, "0,0", document("player.islandX", 7));
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        assertThat(store.load(DocumentKind.ISLAND, "0,0", loaded), is(true));
+        assertThat(loaded.getInt("general.level"), is(42));
+        assertThat(store.getLastModified(DocumentKind.ISLAND, "0,0"), greaterThan(0L));
+        assertThat(store.getKeys(DocumentKind.ISLAND), containsInAnyOrder("0,0"));
+        assertThat(store.count(DocumentKind.PLAYER), is(1));
+
+        assertThat(store.delete(DocumentKind.ISLAND, "0,0"), is(true));
+        assertThat(store.exists(DocumentKind.ISLAND, "0,0"), is(false));
+        assertThat(store.exists(DocumentKind.PLAYER, "0,0"), is(true));
+        assertThat(store.getKeys(DocumentKind.ISLAND), empty());
+    }
+
+    @Test
+    public void renameKeepsExistingDocument() throws IOException {
+        store.save(DocumentKind.COMPLETION, "leader", document("a.timesCompleted", 1));
+        store.save(DocumentKind.COMPLETION, "taken", document("a.timesCompleted", 2));
+
+        assertThat(store.rename(DocumentKind.COMPLETION, "leader", "taken"), is(false));
+        assertThat(store.rename(DocumentKind.COMPLETION, "leader", "0,0"), is(true));
+
+        YamlConfiguration loaded = new YamlConfiguration();
+        store.load(DocumentKind.COMPLETION, "0,0", loaded);
+        assertThat(loaded.getInt("a.timesCompleted"), is(1));
+        assertThat(store.getKeys(DocumentKind.COMPLETION), containsInAnyOrder("0,0", "taken"));
+    }
+
+    @Test
+    public void otherThreadsAreNotBlockedDuringBatch() throws Exception {
+        store.save(DocumentKind.ISLAND, "0,0", document("general.level", 42));
+        AtomicBoolean loaded = new AtomicBoolean(false);
+        store.batch(() -> {
+            try {
+                store.save(DocumentKind.ISLAND, "128,0", document("general.level", 7));
+                Thread reader = new Thread(() -> loaded.set(store.load(DocumentKind.ISLAND, "0,0", new YamlConfiguration())));
+                reader.start();
+                reader.join(5000);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThat(loaded.get(), is(true));
+        assertThat(store.exists(DocumentKind.ISLAND, "128,0"), is(true));
+    }
+
+    @Test
+    public void writesOfOtherThreadsAreKeptWhenABatchFails() throws Exception {
+        Thread writer = new Thread(() -> {
+            try {
+                store.save(DocumentKind.PLAYER, "0,0", document("player.islandX", 7));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        try {
+            store.batch(() -> {
+                try {
+                    store.save(DocumentKind.ISLAND, "0,0", document("general.level", 42));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+                writer.start();
+                throw new IllegalStateException("Batch failed");
+            });
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+        writer.join(5000);
+
+        assertThat(store.exists(DocumentKind.PLAYER, "0,0"), is(true));
+        if (type == StorageType.SQLITE) {
+            assertThat(store.exists(DocumentKind.ISLAND, "0,0"), is(false));
+        }
+    }
+
+    @Test
+    public void migratesAllDocuments() throws IOException {
+        store.batch(() -> {
+            try {
+                for (int i = 0; i < 1200; i++) {
+                    store.save(DocumentKind.ISLAND, i + ",0", document("general.level", i));
+                }
+                store.save(DocumentKind.PLAYER, "uuid", document("player.islandX", 1));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        StorageType otherType = type == StorageType.YML ? StorageType.SQLITE : StorageType.YML;
+        try (DocumentStore other = otherType.open(tempFolder.newFolder().toPath(), logger)) {
+            DocumentMigration migration = new DocumentMigration(store, other, logger);
+            migration.run((done, total) -> {
+            });
+
+            assertThat(migration.getMigrated(), is(1201));
+            assertThat(migration.getFailed(), is(0));
+            assertThat(other.count(DocumentKind.ISLAND), is(1200));
+            YamlConfiguration loaded = new YamlConfiguration();
+            other.load(DocumentKind.ISLAND, "1199,0", loaded);
+            assertThat(loaded.getInt("general.level"), is(1199));
+            List<String> players = other.getKeys(DocumentKind.PLAYER);
+            assertThat(players, containsInAnyOrder("uuid"));
+        }
+    }
+
+    private static YamlConfiguration document(String path, int value) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set(path, value);
+        return config;
+    }
+}
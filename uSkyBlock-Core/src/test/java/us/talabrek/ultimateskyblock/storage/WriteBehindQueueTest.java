@@ -0,0 +1,150 @@
+package us.talabrek.ultimateskyblock.storage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.core.Is.is;
+
+public class WriteBehindQueueTest {
+    private static final Logger logger = Logger.getLogger(WriteBehindQueueTest.class.getName());
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private DocumentStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        store = new YmlDocumentStore(tempFolder.newFolder().toPath(), logger);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void coalescesWritesToTheSameDocument() {
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ofMinutes(1), 100, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("first"));
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("second"));
+        queue.enqueue(DocumentKind.PLAYER, "0,0", () -> written.add("player"));
+
+        assertThat(queue.getPending(), is(2));
+        assertThat(queue.flush(Duration.ofSeconds(10)), is(true));
+
+        assertThat(written, containsInAnyOrder("second", "player"));
+        assertThat(queue.getPending(), is(0));
+        queue.shutdown();
+    }
+
+    @Test
+    public void writeNowRunsThePendingWrite() {
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ofMinutes(1), 100, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("island"));
+
+        queue.writeNow(DocumentKind.ISLAND, "1,1");
+        assertThat(written, empty());
+
+        queue.writeNow(DocumentKind.ISLAND, "0,0");
+        assertThat(written, contains("island"));
+        assertThat(queue.getPending(), is(0));
+        assertThat(queue.flush(Duration.ofSeconds(10)), is(true));
+        queue.shutdown();
+    }
+
+    @Test
+    public void failedWritesAreRetriedBeforeTheyAreStored() {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ZERO, 100, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Disk full");
+            }
+        }, () -> written.add("stored"));
+
+        assertThat(queue.flush(Duration.ofSeconds(10)), is(true));
+        assertThat(attempts.get(), is(2));
+        assertThat(written, contains("stored"));
+        queue.shutdown();
+    }
+
+    @Test
+    public void failedWriteNowStaysPending() {
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ofMinutes(1), 100, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> {
+            throw new IllegalStateException("Disk full");
+        }, () -> written.add("stored"));
+
+        queue.writeNow(DocumentKind.ISLAND, "0,0");
+
+        assertThat(queue.getPending(), is(1));
+        assertThat(written, empty());
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("island"), () -> written.add("stored"));
+        queue.shutdown();
+        assertThat(written, contains("island", "stored"));
+    }
+
+    @Test
+    public void fullQueueBlocksUntilTheWriterCatchesUp() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ZERO, 1, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> awaitQuietly(release));
+        // Wait for the writer to pick up the blocking write
+        for (int i = 0; i < 100 && queue.getPending() > 0; i++) {
+            Thread.sleep(10);
+        }
+        queue.enqueue(DocumentKind.ISLAND, "1,1", () -> written.add("1,1"));
+
+        CountDownLatch enqueued = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            queue.enqueue(DocumentKind.ISLAND, "2,2", () -> written.add("2,2"));
+            enqueued.countDown();
+        });
+        producer.start();
+        assertThat(enqueued.await(100, TimeUnit.MILLISECONDS), is(false));
+
+        release.countDown();
+        assertThat(enqueued.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(queue.flush(Duration.ofSeconds(10)), is(true));
+        assertThat(written, contains("1,1", "2,2"));
+        queue.shutdown();
+    }
+
+    @Test
+    public void shutdownSavesPendingWritesAndLaterWritesRunDirectly() {
+        WriteBehindQueue queue = new WriteBehindQueue(store, logger, Duration.ofMinutes(1), 100, () -> true);
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("pending"));
+
+        queue.shutdown();
+        assertThat(written, contains("pending"));
+
+        queue.enqueue(DocumentKind.ISLAND, "0,0", () -> written.add("direct"));
+        assertThat(written, contains("pending", "direct"));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
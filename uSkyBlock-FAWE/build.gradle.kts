@@ -11,6 +11,9 @@ dependencies {
     compileOnly("com.fastasyncworldedit:FastAsyncWorldEdit-Bukkit:2.13.0")
     compileOnly("org.spigotmc:spigot-api:1.20.6-R0.1-SNAPSHOT")
     compileOnly("com.sk89q.worldedit:worldedit-bukkit:7.2.19")
+    compileOnly("com.sk89q.worldguard:worldguard-bukkit:7.0.9")
+    compileOnly("com.google.inject:guice:7.0.0")
+    compileOnly("org.jetbrains:annotations:23.0.0")
 }
 
 description = "uSkyBlock-FAWE"
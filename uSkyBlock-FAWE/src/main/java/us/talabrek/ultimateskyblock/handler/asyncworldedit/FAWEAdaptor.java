@@ -3,13 +3,12 @@ package us.talabrek.ultimateskyblock.handler.asyncworldedit;
 import com.sk89q.worldedit.EditSession;
 import com.sk89q.worldedit.WorldEdit;
 import com.sk89q.worldedit.bukkit.BukkitWorld;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
-import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
 import com.sk89q.worldedit.math.BlockVector3;
 import com.sk89q.worldedit.regions.Region;
 import com.sk89q.worldedit.world.World;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
+import us.talabrek.ultimateskyblock.handler.SchematicCache;
 import us.talabrek.ultimateskyblock.player.PlayerPerk;
 import us.talabrek.ultimateskyblock.uSkyBlock;
 import us.talabrek.ultimateskyblock.util.Scheduler;
@@ -41,28 +40,41 @@ public class FAWEAdaptor implements AWEAdaptor {
     }
 
     @Override
-    public void loadIslandSchematic(final File file, final Location origin, final PlayerPerk playerPerk) {
+    public void loadIslandSchematic(final File file, final Location origin, final PlayerPerk playerPerk, final Runnable onCompletion) {
         scheduler.async(() -> {
-            if (file == null || !file.exists() || !file.canRead()) {
-                log.log(Level.WARNING, "Unable to load schematic {}", file);
-                return;
+            try {
+                paste(file, origin, playerPerk);
+            } finally {
+                if (onCompletion != null) {
+                    scheduler.sync(onCompletion);
+                }
             }
+        });
+    }
 
-            ClipboardFormat format = ClipboardFormats.findByFile(file);
-            if (format == null) {
+    private void paste(File file, Location origin, PlayerPerk playerPerk) {
+        if (file == null || !file.exists() || !file.canRead()) {
+            log.log(Level.WARNING, "Unable to load schematic {}", file);
+            return;
+        }
+        BlockVector3 to = BlockVector3.at(origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
+        try (SchematicCache.Lease schematic = uSkyBlock.getInstance().getSchematicCache().acquire(file)) {
+            if (schematic == null) {
                 log.log(Level.SEVERE, "Unable to find schematic format for file {}", file);
                 return;
             }
-
-            BlockVector3 to = BlockVector3.at(origin.getBlockX(), origin.getBlockY(), origin.getBlockZ());
             EditSession editSession = getEditSession(playerPerk, origin);
-            try(var schematic = format.load(file)) {
-                schematic.paste(editSession, to, false);
-                editSession.flushQueue();
-            } catch (IOException ex) {
-                log.log(Level.INFO, "Unable to paste schematic " + file, ex);
+            // The cached clipboard is shared between pastes
+            schematic.getLock().lock();
+            try {
+                schematic.getClipboard().paste(editSession, to, false);
+            } finally {
+                schematic.getLock().unlock();
             }
-        });
+            editSession.flushQueue();
+        } catch (IOException ex) {
+            log.log(Level.INFO, "Unable to paste schematic " + file, ex);
+        }
     }
 
     private synchronized EditSession getEditSession(PlayerPerk playerPerk, Location origin) {
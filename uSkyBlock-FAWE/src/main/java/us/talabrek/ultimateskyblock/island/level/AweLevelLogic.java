@@ -0,0 +1,140 @@
+package us.talabrek.ultimateskyblock.island.level;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.util.Countable;
+import com.sk89q.worldedit.world.block.BlockState;
+import com.sk89q.worldguard.protection.regions.ProtectedRegion;
+import dk.lockfuglsang.minecraft.file.FileUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import us.talabrek.ultimateskyblock.PluginConfig;
+import us.talabrek.ultimateskyblock.api.async.Callback;
+import us.talabrek.ultimateskyblock.handler.WorldGuardHandler;
+import us.talabrek.ultimateskyblock.util.LocationUtil;
+import us.talabrek.ultimateskyblock.util.Scheduler;
+import us.talabrek.ultimateskyblock.world.WorldManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Level logic using the block distribution of FAWE (FastAsyncWorldEdit).
+ * <p>
+ * FAWE reads the chunks of the region in parallel, off the main thread, so no chunks are snapshotted on the main
+ * thread.
+ */
+@Singleton
+public class AweLevelLogic extends CommonLevelLogic {
+
+    private final Scheduler scheduler;
+    private final Logger logger;
+    private final IncrementalLevelTracker levelTracker;
+    private final InFlightScores inFlightScores;
+
+    @Inject
+    public AweLevelLogic(
+        @NotNull WorldManager worldManager,
+        @NotNull PluginConfig pluginConfig,
+        @NotNull Scheduler scheduler,
+        @NotNull Logger logger,
+        @NotNull IncrementalLevelTracker levelTracker,
+        @NotNull Clock clock
+    ) {
+        super(FileUtil.getYmlConfiguration("levelConfig.yml"), worldManager);
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.levelTracker = levelTracker;
+        this.inFlightScores = new InFlightScores(clock, Duration.ofMillis(pluginConfig.getYamlConfig().getLong("async.level.reuseScoreMs", 0)));
+    }
+
+    @Override
+    public void calculateScoreAsync(Location l, Callback<IslandScore> callback) {
+        if (levelTracker.isEnabled()) {
+            String islandName = LocationUtil.getIslandName(l);
+            scheduler.sync(() -> {
+                BlockCountCollection counts = levelTracker.getCounts(islandName);
+                if (counts != null) {
+                    callback.setState(createIslandScore(counts, levelTracker.getNetherCounts(islandName)));
+                    callback.run();
+                } else {
+                    distributionAsync(l, callback);
+                }
+            });
+        } else {
+            distributionAsync(l, callback);
+        }
+    }
+
+    private void distributionAsync(Location l, Callback<IslandScore> callback) {
+        final String islandName = LocationUtil.getIslandName(l);
+        IslandScore recentScore = inFlightScores.getRecent(islandName);
+        if (recentScore != null) {
+            callback.setState(recentScore);
+            scheduler.sync(callback);
+            return;
+        }
+        if (!inFlightScores.attach(islandName, callback)) {
+            return; // Joined the calculation already in progress
+        }
+        final ProtectedRegion region = WorldGuardHandler.getIslandRegionAt(l);
+        if (region == null) {
+            scheduler.sync(() -> inFlightScores.abort(islandName).forEach(Runnable::run));
+            return;
+        }
+        final Location netherLocation = getNetherLocation(l);
+        final ProtectedRegion netherRegion = netherLocation.getWorld() != null
+            ? WorldGuardHandler.getNetherRegionAt(netherLocation)
+            : null;
+        scheduler.async(() -> {
+            try {
+                BlockCountCollection counts = countBlocks(l.getWorld(), region,
+                    region.getMinimumPoint().getBlockY(), region.getMaximumPoint().getBlockY());
+                IslandScore islandScore = createIslandScore(counts);
+                BlockCountCollection netherCounts = null;
+                if (netherRegion != null && (levelTracker.isEnabled() || islandScore.getScore() >= activateNetherAtLevel)) {
+                    // Add nether levels
+                    netherCounts = countBlocks(netherLocation.getWorld(), netherRegion, 6, 120);
+                    islandScore = createIslandScore(counts, netherCounts);
+                }
+                final IslandScore score = islandScore;
+                final BlockCountCollection finalNetherCounts = netherCounts;
+                scheduler.sync(() -> {
+                    levelTracker.track(islandName, region, counts, netherRegion, finalNetherCounts);
+                    inFlightScores.complete(islandName, score).forEach(Runnable::run);
+                });
+            } catch (RuntimeException e) {
+                scheduler.sync(() -> inFlightScores.abort(islandName).forEach(Runnable::run));
+                logger.log(Level.WARNING, "Unable to calculate score for region " + region.getId(), e);
+            }
+        });
+    }
+
+    /**
+     * Counts the blocks of the region in the interval [minY, maxY).
+     */
+    private BlockCountCollection countBlocks(World world, ProtectedRegion region, int minY, int maxY) {
+        BlockCountCollection counts = new BlockCountCollection(scoreMap);
+        com.sk89q.worldedit.world.World weWorld = BukkitAdapter.adapt(world);
+        CuboidRegion cube = new CuboidRegion(weWorld,
+            region.getMinimumPoint().withY(Math.max(minY, world.getMinHeight())),
+            region.getMaximumPoint().withY(Math.min(maxY, world.getMaxHeight()) - 1));
+        try (EditSession editSession = WorldEdit.getInstance().newEditSessionBuilder().world(weWorld).build()) {
+            for (Countable<BlockState> countable : editSession.getBlockDistribution(cube, false)) {
+                Material material = BukkitAdapter.adapt(countable.getID().getBlockType());
+                if (material != null && material != Material.AIR) {
+                    counts.add(material, countable.getAmount());
+                }
+            }
+        }
+        return counts;
+    }
+}